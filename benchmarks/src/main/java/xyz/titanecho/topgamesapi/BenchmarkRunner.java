@@ -0,0 +1,31 @@
+package xyz.titanecho.topgamesapi;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Runs JMH with the given arguments and, unless they say
+ * otherwise, writes the results as JSON to {@code target/jmh-result.json} so runs can be compared over time.
+ */
+public final class BenchmarkRunner {
+    static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rf")) {
+            jmhArgs.add(0, "-rf");
+            jmhArgs.add(1, "json");
+        }
+        if (!jmhArgs.contains("-rff")) {
+            jmhArgs.add(0, "-rff");
+            jmhArgs.add(1, DEFAULT_RESULT_FILE);
+        }
+        Main.main(jmhArgs.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,111 @@
+package xyz.titanecho.topgamesapi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ClaimJournal} costs:
+ * <ul>
+ *     <li>{@code Replay.open}: opening a journal of {@code entries} claimed votes, each with a seen and a
+ *     claimed record.</li>
+ *     <li>{@code Append.markClaimed}: durable marks from 16 threads, with a group-commit window of
+ *     {@code windowMillis} (0 writes as soon as the writer thread is free).</li>
+ * </ul>
+ * <pre>
+ * java -jar target/benchmarks.jar ClaimJournalBenchmark
+ * </pre>
+ */
+@Fork(1)
+public class ClaimJournalBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Replay {
+        @Param({"1000000"})
+        public int entries;
+
+        Path file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            file = Files.createTempFile("claims", ".journal");
+            Files.delete(file);
+            try (ClaimJournal journal = new ClaimJournal.Builder(file).groupCommitWindow(Duration.ofMillis(10)).build()) {
+                CompletableFuture<Void> last = null;
+                for (int i = 0; i < entries; i++) {
+                    journal.markSeen("vote-" + i);
+                    last = journal.markClaimed("vote-" + i);
+                }
+                last.get();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int open(Replay state) throws IOException {
+        try (ClaimJournal journal = new ClaimJournal.Builder(state.file).build()) {
+            return journal.size();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Append {
+        @Param({"0", "5"})
+        public int windowMillis;
+
+        final AtomicLong ids = new AtomicLong();
+        Path file;
+        ClaimJournal journal;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            file = Files.createTempFile("claims", ".journal");
+            Files.delete(file);
+            journal = new ClaimJournal.Builder(file).groupCommitWindow(Duration.ofMillis(windowMillis)).build();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            journal.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 3, time = 2)
+    @Threads(16)
+    public void markClaimed(Append state) throws Exception {
+        state.journal.markClaimed("vote-" + state.ids.incrementAndGet()).get();
+    }
+}
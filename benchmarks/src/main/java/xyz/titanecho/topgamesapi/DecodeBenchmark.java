@@ -0,0 +1,82 @@
+package xyz.titanecho.topgamesapi;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.titanecho.topgamesapi.model.Game;
+import xyz.titanecho.topgamesapi.model.Vote;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the buffered ({@code body().string()} + {@code fromJson}) decode path with the
+ * streaming {@link JsonCodec} path.
+ * <p>
+ * Every invocation decodes {@value #COUNT} elements, so with {@code -prof gc} the
+ * {@code gc.alloc.rate.norm} column reads as bytes allocated per decoded {@link Vote} or {@link Game}:
+ * <pre>
+ * java -jar target/benchmarks.jar DecodeBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeBenchmark {
+    static final int COUNT = 1000;
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final Type VOTES = new TypeToken<TopGamesClient.ApiResponse<List<Vote>>>() {}.getType();
+    private static final Type GAMES = new TypeToken<List<Game>>() {}.getType();
+
+    private final Gson gson = new Gson();
+    private final JsonCodec codec = new JsonCodec(gson);
+    private byte[] votes;
+    private byte[] games;
+
+    @Setup
+    public void setUp() {
+        votes = Payloads.votesEnvelope(COUNT);
+        games = Payloads.gameList(COUNT);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public Object votesBuffered() throws IOException {
+        return gson.fromJson(ResponseBody.create(votes, JSON).string(), VOTES);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public Object votesStreaming() throws IOException {
+        return codec.decode(ResponseBody.create(votes, JSON), VOTES);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public Object gamesBuffered() throws IOException {
+        return gson.fromJson(ResponseBody.create(games, JSON).string(), GAMES);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public Object gamesStreaming() throws IOException {
+        return codec.decode(ResponseBody.create(games, JSON), GAMES);
+    }
+}
@@ -0,0 +1,114 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.titanecho.topgamesapi.model.Game;
+import xyz.titanecho.topgamesapi.model.Vote;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end throughput against a local {@link MockWebServer}: request building, the interceptor chain,
+ * HTTP over loopback and decoding.
+ * <p>
+ * Both variants keep {@value #IN_FLIGHT} calls in flight. The sync benchmarks do it with
+ * {@value #IN_FLIGHT} JMH threads blocking on one call each; the async benchmarks issue
+ * {@value #IN_FLIGHT} calls from a single thread and wait for all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndBenchmark {
+    static final int IN_FLIGHT = 16;
+
+    private MockWebServer server;
+    private TopGamesClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] game = "{\"id\":\"minecraft\",\"name\":\"Minecraft\",\"rank\":1,\"publisher\":\"Mojang\",\"score\":99.5}"
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] votes = Payloads.votesEnvelope(20);
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                byte[] body = request.getPath().startsWith("/votes") ? votes : game;
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(new Buffer().write(body));
+            }
+        });
+        server.start();
+        client = new TopGamesClient.Builder()
+                .apiKey("benchmark")
+                .baseUrl(server.url("/").toString())
+                .maxRequests(IN_FLIGHT * 2)
+                .maxRequestsPerHost(IN_FLIGHT * 2)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    @Threads(IN_FLIGHT)
+    public Game gameSync() throws TopGamesException {
+        return client.getGame("minecraft");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT)
+    public Object gameAsync() {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[IN_FLIGHT];
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            calls[i] = client.getGameAsync("minecraft");
+        }
+        return CompletableFuture.allOf(calls).join();
+    }
+
+    @Benchmark
+    @Threads(IN_FLIGHT)
+    public List<Vote> votesSync() throws TopGamesException {
+        return client.getUnclaimedVotes();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT)
+    public Object votesAsync() {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[IN_FLIGHT];
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            calls[i] = client.getUnclaimedVotesAsync();
+        }
+        return CompletableFuture.allOf(calls).join();
+    }
+}
@@ -0,0 +1,78 @@
+package xyz.titanecho.topgamesapi;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A minimal local stand-in for the Top-Games API, built on the JDK {@link HttpServer}.
+ * Requests are handled on virtual threads, so the server's own thread usage stays flat under load.
+ * Bodies are matched by path prefix; anything unmatched gets a successful vote check response.
+ */
+final class LocalApiServer implements AutoCloseable {
+    static final byte[] CHECK_RESPONSE = "{\"code\":200,\"success\":true}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, byte[]> bodies = new LinkedHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+    private final long delayMs;
+
+    LocalApiServer(long delayMs) {
+        this.delayMs = delayMs;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 16_384);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            if (this.delayMs > 0) {
+                try {
+                    Thread.sleep(this.delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = bodyFor(exchange.getRequestURI().getPath());
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    /**
+     * Serves {@code body} for every request whose path starts with {@code pathPrefix}.
+     */
+    LocalApiServer respond(String pathPrefix, byte[] body) {
+        bodies.put(pathPrefix, body);
+        return this;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    private byte[] bodyFor(String path) {
+        for (Map.Entry<String, byte[]> entry : bodies.entrySet()) {
+            if (path.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return CHECK_RESPONSE;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
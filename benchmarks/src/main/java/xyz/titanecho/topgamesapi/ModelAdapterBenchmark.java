@@ -0,0 +1,109 @@
+package xyz.titanecho.topgamesapi;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.titanecho.topgamesapi.model.PlayerRanking;
+import xyz.titanecho.topgamesapi.model.Server;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding large {@code getFullServerInfo} and {@code getPlayersRanking} responses with the client's
+ * {@link ModelAdapters} versus Gson's reflective binding. {@code size} is the number of server stats or
+ * ranked players. {@code rankingLeaderboard} decodes the same ranking into a columnar {@link Leaderboard}.
+ * <pre>
+ * java -jar target/benchmarks.jar ModelAdapterBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelAdapterBenchmark {
+    private static final TypeToken<TopGamesClient.ApiResponse<Server>> SERVER = new TypeToken<>() {};
+    private static final TypeToken<TopGamesClient.ApiResponse<List<PlayerRanking>>> RANKING = new TypeToken<>() {};
+    private static final TypeToken<TopGamesClient.ApiResponse<Leaderboard>> LEADERBOARD = new TypeToken<>() {};
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private TopGamesClient client;
+    private TypeAdapter<?> serverAdapter;
+    private TypeAdapter<?> rankingAdapter;
+    private TypeAdapter<?> leaderboardAdapter;
+    private TypeAdapter<?> reflectiveServerAdapter;
+    private TypeAdapter<?> reflectiveRankingAdapter;
+    private byte[] server;
+    private byte[] ranking;
+
+    @Setup
+    public void setUp() {
+        client = new TopGamesClient.Builder().apiKey("benchmark").build();
+        serverAdapter = client.template(Endpoint.FULL_SERVER_INFO).adapter();
+        rankingAdapter = client.template(Endpoint.PLAYERS_RANKING).adapter();
+        leaderboardAdapter = new GsonBuilder().registerTypeAdapterFactory(new ModelAdapters()).create().getAdapter(LEADERBOARD);
+        Gson reflective = new Gson();
+        reflectiveServerAdapter = reflective.getAdapter(SERVER);
+        reflectiveRankingAdapter = reflective.getAdapter(RANKING);
+        server = Payloads.serverEnvelope(size);
+        ranking = Payloads.rankingEnvelope(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Object serverHandWritten() throws IOException {
+        return read(serverAdapter, server);
+    }
+
+    @Benchmark
+    public Object serverReflective() throws IOException {
+        return read(reflectiveServerAdapter, server);
+    }
+
+    @Benchmark
+    public Object rankingHandWritten() throws IOException {
+        return read(rankingAdapter, ranking);
+    }
+
+    @Benchmark
+    public Object rankingReflective() throws IOException {
+        return read(reflectiveRankingAdapter, ranking);
+    }
+
+    @Benchmark
+    public Object rankingLeaderboard() throws IOException {
+        return read(leaderboardAdapter, ranking);
+    }
+
+    private static Object read(TypeAdapter<?> adapter, byte[] body) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+            return adapter.read(reader);
+        }
+    }
+}
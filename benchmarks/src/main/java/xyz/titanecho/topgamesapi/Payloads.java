@@ -0,0 +1,65 @@
+package xyz.titanecho.topgamesapi;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Synthetic API payloads shaped like real Top-Games responses.
+ */
+final class Payloads {
+    private Payloads() {
+    }
+
+    static byte[] votesEnvelope(int count) {
+        StringBuilder json = new StringBuilder(count * 128).append("{\"code\":200,\"success\":true,\"votes\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"id\":\"vote-").append(i)
+                    .append("\",\"username\":\"Player").append(i)
+                    .append("\",\"created_at\":\"2024-03-0").append(i % 9 + 1).append(" 12:34:56\"")
+                    .append(",\"claimed\":false,\"ip_address\":\"10.0.").append(i / 256 % 256).append('.').append(i % 256)
+                    .append("\"}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] gameList(int count) {
+        StringBuilder json = new StringBuilder(count * 160).append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"id\":\"game-").append(i)
+                    .append("\",\"name\":\"Game number ").append(i)
+                    .append("\",\"rank\":").append(i + 1)
+                    .append(",\"publisher\":\"Publisher ").append(i % 17)
+                    .append("\",\"score\":").append(100.0 - i * 0.01)
+                    .append(",\"cover_image_url\":\"https://cdn.example.com/covers/").append(i).append(".png\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] serverEnvelope(int statCount) {
+        StringBuilder json = new StringBuilder(512 + statCount * 48)
+                .append("{\"code\":200,\"success\":true,\"server\":{\"id\":\"srv-1\",\"name\":\"Benchmark Server\"")
+                .append(",\"description\":\"A server used to measure decoding.\",\"website\":\"https://example.com\"")
+                .append(",\"banner\":\"https://cdn.example.com/banner.png\",\"logo\":\"https://cdn.example.com/logo.png\"")
+                .append(",\"votes\":12345,\"clicks\":6789,\"rank\":3,\"players_online\":120,\"max_players\":500")
+                .append(",\"version\":\"1.20.4\",\"ip\":\"play.example.com\",\"port\":25565,\"stats\":[");
+        for (int i = 0; i < statCount; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"date\":\"2024-").append(String.format("%02d", i / 28 % 12 + 1)).append('-')
+                    .append(String.format("%02d", i % 28 + 1))
+                    .append("\",\"votes\":").append(100 + i % 50)
+                    .append(",\"clicks\":").append(200 + i % 70).append('}');
+        }
+        return json.append("]}}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] rankingEnvelope(int count) {
+        StringBuilder json = new StringBuilder(64 + count * 40).append("{\"code\":200,\"success\":true,\"players\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"username\":\"Player").append(i)
+                    .append("\",\"votes\":").append(count - i).append('}');
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,112 @@
+package xyz.titanecho.topgamesapi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Permit acquisition under 64 contending threads for {@link RateLimitInterceptor}, compared with
+ * the fair-semaphore limiter it replaced.
+ * <ul>
+ *     <li>{@code *Unsaturated}: the configured rate is far above what the threads can consume, so the
+ *     numbers measure the per-acquire overhead rather than time spent waiting.</li>
+ *     <li>{@code *Saturated}: 64 permits per millisecond. Throughput shows whether the limiter delivers
+ *     its configured rate; the sample-time percentiles show how evenly the wait is spread.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class RateLimiterBenchmark {
+    private static final int UNSATURATED_PERMITS = 1_000_000_000;
+    private static final int SATURATED_PERMITS = 64;
+
+    private RateLimitInterceptor tokenBucket;
+    private LegacySemaphoreLimiter semaphore;
+    private RateLimitInterceptor saturatedTokenBucket;
+    private LegacySemaphoreLimiter saturatedSemaphore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenBucket = new RateLimitInterceptor(UNSATURATED_PERMITS, 1, TimeUnit.SECONDS);
+        semaphore = new LegacySemaphoreLimiter(UNSATURATED_PERMITS, 1, TimeUnit.SECONDS);
+        saturatedTokenBucket = new RateLimitInterceptor(SATURATED_PERMITS, 1, TimeUnit.MILLISECONDS);
+        saturatedSemaphore = new LegacySemaphoreLimiter(SATURATED_PERMITS, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        semaphore.shutdown();
+        saturatedSemaphore.shutdown();
+    }
+
+    @Benchmark
+    public void tokenBucketUnsaturated() throws IOException {
+        tokenBucket.acquire();
+    }
+
+    @Benchmark
+    public void fairSemaphoreUnsaturated() throws InterruptedException {
+        semaphore.acquire();
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    public void tokenBucketSaturated() throws IOException {
+        saturatedTokenBucket.acquire();
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    public void fairSemaphoreSaturated() throws InterruptedException {
+        saturatedSemaphore.acquire();
+    }
+
+    /**
+     * The pre-1.2 limiter: a fair semaphore refilled by a scheduler thread at fixed intervals.
+     */
+    static final class LegacySemaphoreLimiter {
+        private final Semaphore semaphore;
+        private final int permits;
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        LegacySemaphoreLimiter(int permits, long period, TimeUnit unit) {
+            this.semaphore = new Semaphore(permits, true);
+            this.permits = permits;
+            scheduler.scheduleAtFixedRate(() -> {
+                int permitsToRelease = permits - semaphore.availablePermits();
+                if (permitsToRelease > 0) {
+                    semaphore.release(permitsToRelease);
+                }
+            }, period, period, unit);
+        }
+
+        void acquire() throws InterruptedException {
+            semaphore.acquire();
+        }
+
+        void shutdown() {
+            scheduler.shutdown();
+        }
+    }
+}
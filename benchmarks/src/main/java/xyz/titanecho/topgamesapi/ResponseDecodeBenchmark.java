@@ -0,0 +1,93 @@
+package xyz.titanecho.topgamesapi;
+
+import com.google.gson.TypeAdapter;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TopGamesClient#handleResponse} on in-memory responses, so only status handling and JSON
+ * decoding are measured. {@code size} is the number of votes, games, or server stats in the payload.
+ * <pre>
+ * java -jar target/benchmarks.jar ResponseDecodeBenchmark -p size=10,1000 -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseDecodeBenchmark {
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    @Param({"1", "10", "100", "1000"})
+    public int size;
+
+    private TopGamesClient client;
+    private Request request;
+    private TypeAdapter<?> votesAdapter;
+    private TypeAdapter<?> gamesAdapter;
+    private TypeAdapter<?> serverAdapter;
+    private byte[] votes;
+    private byte[] games;
+    private byte[] server;
+
+    @Setup
+    public void setUp() {
+        client = new TopGamesClient.Builder().apiKey("benchmark").build();
+        request = new Request.Builder().url(client.unclaimedVotesUrl()).build();
+        votesAdapter = client.template(Endpoint.UNCLAIMED_VOTES).adapter();
+        gamesAdapter = client.template(Endpoint.TOP_GAMES).adapter();
+        serverAdapter = client.template(Endpoint.FULL_SERVER_INFO).adapter();
+        votes = Payloads.votesEnvelope(size);
+        games = Payloads.gameList(size);
+        server = Payloads.serverEnvelope(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Object votes() throws Exception {
+        return client.handleResponse(response(votes), votesAdapter);
+    }
+
+    @Benchmark
+    public Object games() throws Exception {
+        return client.handleResponse(response(games), gamesAdapter);
+    }
+
+    @Benchmark
+    public Object server() throws Exception {
+        return client.handleResponse(response(server), serverAdapter);
+    }
+
+    private Response response(byte[] body) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(body, JSON))
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+import okio.Buffer;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first response of a freshly built client against a local TLS {@link MockWebServer}, with and
+ * without {@link TopGamesClient.Builder#warmUp(int)}, over HTTP/1.1 and HTTP/2.
+ * <p>
+ * Each invocation builds a new client with its own TLS context, so no connection or TLS session carries
+ * over, then spends {@value #BOOT_WORK_MS}ms on the rest of a server's startup before the measured calls:
+ * {@code getServerInfo()} followed by {@code getUnclaimedVotes()}. A warmed-up client has connected during
+ * that time. Within one JVM only the first invocation pays for class loading, so this mostly measures
+ * connection setup; for cold-JVM numbers, use a fork per invocation:
+ * <pre>
+ * java -jar target/benchmarks.jar StartupBenchmark -f 20 -wi 0 -i 1
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@Fork(1)
+public class StartupBenchmark {
+    static final long BOOT_WORK_MS = 100;
+
+    @Param({"http/1.1", "h2"})
+    public String protocol;
+
+    @Param({"false", "true"})
+    public boolean warmUp;
+
+    private HeldCertificate certificate;
+    private MockWebServer server;
+    private TopGamesClient client;
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException {
+        byte[] serverInfo = Payloads.serverEnvelope(10);
+        byte[] votes = Payloads.votesEnvelope(20);
+        certificate = new HeldCertificate.Builder().addSubjectAlternativeName("localhost").build();
+        HandshakeCertificates serverCertificates = new HandshakeCertificates.Builder()
+                .heldCertificate(certificate)
+                .build();
+        server = new MockWebServer();
+        server.useHttps(serverCertificates.sslSocketFactory(), false);
+        server.setProtocols(protocol.equals("h2")
+                ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                : List.of(Protocol.HTTP_1_1));
+        server.setDispatcher(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                if (request.getMethod().equals("HEAD")) {
+                    // MockWebServer would otherwise write a body after the headers of a HEAD response.
+                    return new MockResponse();
+                }
+                byte[] body = request.getPath().startsWith("/votes") ? votes : serverInfo;
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(new Buffer().write(body));
+            }
+        });
+        server.start();
+    }
+
+    @Setup(Level.Invocation)
+    public void bootClient() throws InterruptedException {
+        HandshakeCertificates clientCertificates = new HandshakeCertificates.Builder()
+                .addTrustedCertificate(certificate.certificate())
+                .build();
+        TopGamesClient.Builder builder = new TopGamesClient.Builder()
+                .apiKey("benchmark")
+                .baseUrl(server.url("/").toString())
+                .sslSocketFactory(clientCertificates.sslSocketFactory(), clientCertificates.trustManager());
+        if (protocol.equals("h2")) {
+            builder.preferHttp2();
+        }
+        if (warmUp) {
+            builder.warmUp(1);
+        }
+        client = builder.build();
+        Thread.sleep(BOOT_WORK_MS);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeClient() {
+        client.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Benchmark
+    public void firstResponses(Blackhole blackhole) throws TopGamesException {
+        blackhole.consume(client.getServerInfo());
+        blackhole.consume(client.getUnclaimedVotes());
+    }
+}
@@ -0,0 +1,95 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.HttpUrl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the {@link HttpUrl} for each endpoint from its precompiled {@link EndpointTemplate}.
+ * No network I/O is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlBuildingBenchmark {
+    private TopGamesClient client;
+
+    @Setup
+    public void setUp() {
+        client = new TopGamesClient.Builder().apiKey("0123456789abcdef0123456789abcdef").build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public HttpUrl game() {
+        return client.gameUrl("minecraft");
+    }
+
+    @Benchmark
+    public HttpUrl topGames() {
+        return client.topGamesUrl(50, 100);
+    }
+
+    @Benchmark
+    public HttpUrl unclaimedVotes() {
+        return client.unclaimedVotesUrl();
+    }
+
+    @Benchmark
+    public HttpUrl claimByUsername() {
+        return client.claimByUsernameUrl("Player_123");
+    }
+
+    @Benchmark
+    public HttpUrl claimBySteamId() {
+        return client.claimBySteamIdUrl("76561198000000000");
+    }
+
+    @Benchmark
+    public HttpUrl serverInfo() {
+        return client.serverInfoUrl();
+    }
+
+    @Benchmark
+    public HttpUrl fullServerInfo() {
+        return client.fullServerInfoUrl();
+    }
+
+    @Benchmark
+    public HttpUrl serverStats() {
+        return client.serverStatsUrl();
+    }
+
+    @Benchmark
+    public HttpUrl playersRanking() {
+        return client.playersRankingUrl("monthly");
+    }
+
+    @Benchmark
+    public HttpUrl checkByIP() {
+        return client.checkByIPUrl("203.0.113.42");
+    }
+
+    @Benchmark
+    public HttpUrl checkByUsername() {
+        return client.checkByUsernameUrl("Player_123");
+    }
+}
@@ -0,0 +1,67 @@
+package xyz.titanecho.topgamesapi;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test for {@link TopGamesClient.Builder#useVirtualThreads()}: keeps 10,000
+ * {@code checkVoteByUsernameAsync} calls pending against a local server that answers slowly,
+ * and samples the JVM's platform thread count while they drain. Then runs the same load on OkHttp's
+ * default platform-thread dispatcher for comparison.
+ * <pre>
+ * java -cp target/benchmarks.jar xyz.titanecho.topgamesapi.VirtualThreadLoadTest [calls] [inFlight] [delayMs]
+ * </pre>
+ * The local server handles each request on a virtual thread, so its own platform thread usage is constant.
+ */
+public final class VirtualThreadLoadTest {
+    public static void main(String[] args) throws Exception {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int inFlight = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        long delayMs = args.length > 2 ? Long.parseLong(args[2]) : 250;
+
+        try (LocalApiServer server = new LocalApiServer(delayMs)) {
+            // Virtual threads first: OkHttp's platform pool threads linger after close() and would skew the baseline.
+            run("virtual threads", server.baseUrl(), calls, inFlight, true);
+            run("platform threads", server.baseUrl(), calls, inFlight, false);
+        }
+    }
+
+    private static void run(String mode, String baseUrl, int calls, int inFlight, boolean virtualThreads) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int baseline = threads.getThreadCount();
+        AtomicInteger peak = new AtomicInteger(baseline);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peak.accumulateAndGet(threads.getThreadCount(), Math::max), 0, 10, TimeUnit.MILLISECONDS);
+
+        TopGamesClient.Builder builder = new TopGamesClient.Builder()
+                .apiKey("load-test")
+                .baseUrl(baseUrl)
+                .maxRequests(inFlight)
+                .maxRequestsPerHost(inFlight);
+        if (virtualThreads) {
+            builder.useVirtualThreads();
+        }
+
+        long start = System.nanoTime();
+        try (TopGamesClient client = builder.build()) {
+            List<CompletableFuture<Boolean>> pending = new ArrayList<>(calls);
+            for (int i = 0; i < calls; i++) {
+                pending.add(client.checkVoteByUsernameAsync("Player" + i));
+            }
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+            long succeeded = pending.stream().filter(CompletableFuture::join).count();
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            System.out.printf("%-17s %,d calls (%,d in flight): %,d ok in %,d ms, peak platform threads %d (baseline %d)%n",
+                    mode, calls, inFlight, succeeded, elapsedMs, peak.get(), baseline);
+        } finally {
+            sampler.shutdownNow();
+        }
+    }
+}
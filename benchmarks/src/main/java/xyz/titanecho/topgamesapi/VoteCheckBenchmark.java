@@ -0,0 +1,87 @@
+package xyz.titanecho.topgamesapi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vote check throughput during a login burst: {@value #BURST} {@code checkVoteByUsernameAsync} calls
+ * spread over {@code players} distinct usernames, issued at once and awaited together.
+ * <ul>
+ *     <li>{@code perCall}: one HTTP call per check (the client default).</li>
+ *     <li>{@code batched}: {@link TopGamesClient.Builder#batchVoteChecks(Duration, int)} with a 5 ms window,
+ *     deduplicating identical usernames.</li>
+ *     <li>{@code batchedCached}: batching plus a result cache, as for players who reconnect.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VoteCheckBenchmark {
+    static final int BURST = 256;
+
+    @Param({"perCall", "batched", "batchedCached"})
+    public String mode;
+
+    @Param({"32", "256"})
+    public int players;
+
+    private LocalApiServer server;
+    private TopGamesClient client;
+    private String[] usernames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new LocalApiServer(0);
+        TopGamesClient.Builder builder = new TopGamesClient.Builder()
+                .apiKey("benchmark")
+                .baseUrl(server.baseUrl())
+                .maxRequests(64)
+                .maxRequestsPerHost(64);
+        if (!mode.equals("perCall")) {
+            builder.batchVoteChecks(Duration.ofMillis(5), BURST);
+        }
+        if (mode.equals("batchedCached")) {
+            builder.voteCheckResultTtl(Duration.ofSeconds(30), Duration.ofSeconds(5));
+        }
+        client = builder.build();
+        usernames = new String[BURST];
+        for (int i = 0; i < BURST; i++) {
+            usernames[i] = "Player" + (i % players);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void loginBurst() {
+        CompletableFuture<?>[] checks = new CompletableFuture<?>[BURST];
+        for (int i = 0; i < BURST; i++) {
+            checks[i] = client.checkVoteByUsernameAsync(usernames[i]);
+        }
+        CompletableFuture.allOf(checks).join();
+    }
+}
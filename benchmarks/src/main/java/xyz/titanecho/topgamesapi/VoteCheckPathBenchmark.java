@@ -0,0 +1,109 @@
+package xyz.titanecho.topgamesapi;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The client-side work of one {@code checkVoteByUsername} call, minus the network: building the URL and
+ * request, adding the auth headers and call context, and decoding the response.
+ * <ul>
+ *     <li>{@code templated}: the client's precompiled {@link EndpointTemplate}.</li>
+ *     <li>{@code legacy}: a copy of the previous code path, which rebuilt the URL from the base URL, copied
+ *     the request to attach the call context and again in an interceptor to add the headers, and looked up
+ *     the adapter through a fresh anonymous {@code TypeToken}.</li>
+ * </ul>
+ * <pre>
+ * java -jar target/benchmarks.jar VoteCheckPathBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoteCheckPathBenchmark {
+    private static final String API_KEY = "0123456789abcdef0123456789abcdef";
+    private static final String USERNAME = "Player_123";
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final byte[] BODY = "{\"code\":200,\"success\":true}".getBytes(StandardCharsets.UTF_8);
+
+    private TopGamesClient client;
+    private EndpointTemplate<?> template;
+    private HttpUrl baseUrl;
+    private Gson gson;
+
+    @Setup
+    public void setUp() {
+        client = new TopGamesClient.Builder().apiKey(API_KEY).build();
+        template = client.template(Endpoint.CHECK_VOTE_BY_USERNAME);
+        baseUrl = HttpUrl.get("https://api.top-games.net/v1");
+        gson = new Gson();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Object templated() throws Exception {
+        CallContext context = new CallContext(Endpoint.CHECK_VOTE_BY_USERNAME, false, MetricsListener.NONE);
+        Request request = template.request(client.checkByUsernameUrl(USERNAME), context);
+        return client.handleResponse(response(request), template.adapter());
+    }
+
+    @Benchmark
+    public Object legacy() throws Exception {
+        HttpUrl url = baseUrl.newBuilder()
+                .addPathSegment("votes")
+                .addPathSegment("check")
+                .addQueryParameter("server_token", API_KEY)
+                .addQueryParameter("playername", USERNAME)
+                .build();
+        Request request = new Request.Builder().url(url).get().tag(Endpoint.class, Endpoint.CHECK_VOTE_BY_USERNAME).build();
+        CallContext context = new CallContext(request.tag(Endpoint.class), false, MetricsListener.NONE);
+        Request tagged = request.newBuilder().tag(CallContext.class, context).build();
+        Request authenticated = tagged.newBuilder()
+                .header("Authorization", "Bearer " + API_KEY)
+                .header("Accept", "application/json")
+                .build();
+        Response response = response(authenticated);
+        TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(new TypeToken<TopGamesClient.ApiResponse<Object>>() {}.getType()));
+        try (JsonReader reader = gson.newJsonReader(response.body().charStream())) {
+            return adapter.read(reader);
+        }
+    }
+
+    private static Response response(Request request) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(BODY, JSON))
+                .build();
+    }
+}
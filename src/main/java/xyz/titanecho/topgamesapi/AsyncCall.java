@@ -0,0 +1,258 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Drives one asynchronous API call through scheduling, rate limiting, OkHttp's dispatcher and retries
+ * without ever blocking a thread: a scheduler admission completes a future, permit waits and retry
+ * backoffs are scheduled on a timer, and each attempt is a fresh {@link Call} enqueued when its delay has elapsed.
+ * <p>
+ * Cancelling the returned future, or reaching the call's deadline, withdraws a queued attempt from the
+ * scheduler, cancels the attempt in flight and stops further retries.
+ */
+final class AsyncCall<T> implements Callback {
+    private static final Logger log = LoggerFactory.getLogger(AsyncCall.class);
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    @FunctionalInterface
+    interface ResponseHandler<T> {
+        T handle(Response response) throws TopGamesException, IOException;
+    }
+
+    private final OkHttpClient client;
+    private final Request request;
+    private final CallContext context;
+    private final RateLimitInterceptor rateLimiter;
+    private final RetryInterceptor retryPolicy;
+    private final PriorityScheduler scheduler;
+    private final ResponseHandler<T> handler;
+    private final HedgingPolicy hedging;
+    private final Supplier<Request> hedgeRequest;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private final long startNanos = System.nanoTime();
+    private volatile CompletableFuture<Void> ticket;
+    private volatile Runnable cancelAttempt;
+    private int tryCount;
+
+    /**
+     * @param request      the request to send, tagged with {@code context}.
+     * @param scheduler    the request scheduler, or {@code null} if attempts go straight to the rate limiter.
+     * @param hedging      the hedging policy, or {@code null} if attempts are not hedged.
+     * @param hedgeRequest creates the request of a hedge; only used with a hedging policy.
+     */
+    AsyncCall(OkHttpClient client, Request request, CallContext context, RateLimitInterceptor rateLimiter,
+              RetryInterceptor retryPolicy, PriorityScheduler scheduler, HedgingPolicy hedging, Supplier<Request> hedgeRequest,
+              ResponseHandler<T> handler) {
+        this.context = context;
+        this.client = client;
+        this.request = request;
+        this.rateLimiter = rateLimiter;
+        this.retryPolicy = retryPolicy;
+        this.scheduler = scheduler;
+        this.hedging = hedging;
+        this.hedgeRequest = hedgeRequest;
+        this.handler = handler;
+    }
+
+    CompletableFuture<T> start() {
+        ScheduledFuture<?> deadline = context.hasDeadline()
+                ? schedule(Math.max(0, context.remainingNanos()), () -> {
+                    if (fail(deadlineExceeded("before the call completed"))) {
+                        abort();
+                    }
+                })
+                : null;
+        future.whenComplete((result, error) -> {
+            if (deadline != null) {
+                // Drops the timer's reference to this call as soon as it is done.
+                deadline.cancel(false);
+            }
+            if (future.isCancelled()) {
+                context.metrics().callCompleted(context.endpoint(), System.nanoTime() - startNanos, false);
+                abort();
+            }
+        });
+        submit();
+        return future;
+    }
+
+    /**
+     * Withdraws the queued attempt or cancels the one in flight. Each path frees its own scheduler slot:
+     * an admitted ticket in {@link #enqueue()}, a cancelled call in its failure callback.
+     */
+    private void abort() {
+        CompletableFuture<Void> queued = ticket;
+        if (queued != null) {
+            queued.cancel(false);
+        }
+        Runnable cancel = cancelAttempt;
+        if (cancel != null) {
+            cancel.run();
+        }
+    }
+
+    private void submit() {
+        if (future.isDone()) {
+            return;
+        }
+        tryCount++;
+        if (scheduler != null) {
+            // The scheduler takes the rate limit permit when it admits the attempt.
+            CompletableFuture<Void> queued = scheduler.acquire(context);
+            ticket = queued;
+            queued.thenRun(this::enqueue);
+            if (future.isDone()) {
+                queued.cancel(false);
+            }
+            return;
+        }
+        long waitNanos = 0;
+        if (rateLimiter != null) {
+            if (context.exceedsDeadline(rateLimiter.nanosUntilAvailable())) {
+                fail(deadlineExceeded("before a rate limit permit was available"));
+                return;
+            }
+            waitNanos = rateLimiter.reserve();
+            context.prepayPermit();
+            context.recordRateLimitWait(waitNanos);
+        }
+        if (waitNanos > 0) {
+            log.trace("Delaying asynchronous request by {}ms for rate limit permit", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            schedule(waitNanos, this::enqueue);
+        } else {
+            enqueue();
+        }
+    }
+
+    private void enqueue() {
+        if (future.isDone()) {
+            if (scheduler != null) {
+                scheduler.release(context);
+            }
+            return;
+        }
+        Call call = client.newCall(request);
+        if (hedging != null) {
+            cancelAttempt = hedging.enqueue(client, call, context.endpoint(), hedgeRequest, this);
+        } else {
+            cancelAttempt = call::cancel;
+            call.enqueue(this);
+        }
+        if (future.isDone()) {
+            cancelAttempt.run();
+        }
+    }
+
+    private void retryAfter(long delayMs) {
+        context.recordRetry();
+        log.debug("Waiting {}ms before retry #{}", delayMs, tryCount);
+        schedule(TimeUnit.MILLISECONDS.toNanos(delayMs), this::submit);
+    }
+
+    /**
+     * Runs {@code task} on the shared timer after the delay. Also used by {@link HedgingPolicy} for hedges.
+     */
+    static ScheduledFuture<?> schedule(long delayNanos, Runnable task) {
+        return TIMER.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * One daemon thread shared by all calls; its tasks only hand attempts to the dispatcher or fail calls.
+     * Cancelled tasks are removed right away rather than held until their delay elapses.
+     */
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "TopGames-Timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private boolean exceedsDeadline(long delayMs) {
+        if (context.exceedsDeadline(TimeUnit.MILLISECONDS.toNanos(delayMs))) {
+            log.debug("Retrying after {}ms would exceed the call's deadline. Not retrying.", delayMs);
+            return true;
+        }
+        return false;
+    }
+
+    private TopGamesException deadlineExceeded(String when) {
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        return new TopGamesException("Deadline exceeded " + when,
+                new TimeoutException("Gave up on " + request.url() + " after " + elapsedMs + "ms"));
+    }
+
+    @Override
+    public void onFailure(@NotNull Call call, @NotNull IOException e) {
+        if (scheduler != null) {
+            scheduler.release(context);
+        }
+        if (future.isDone()) {
+            // Cancelled by the caller or past the deadline.
+            return;
+        }
+        long delayMs = retryPolicy != null && !(e instanceof CallRejectedException)
+                ? retryPolicy.backoffMillis(tryCount, null) : -1;
+        if (delayMs >= 0 && !exceedsDeadline(delayMs)) {
+            log.warn("Request failed due to IOException on try #{}. Retrying...", tryCount, e);
+            retryAfter(delayMs);
+            return;
+        }
+        log.error("Async network error for request: {}", request.url(), e);
+        fail(new TopGamesException("Network error occurred", e));
+    }
+
+    @Override
+    public void onResponse(@NotNull Call call, @NotNull Response response) {
+        if (scheduler != null) {
+            scheduler.release(context);
+        }
+        try {
+            if (future.isDone()) {
+                return;
+            }
+            if (!response.isSuccessful() && retryPolicy != null && retryPolicy.isRetryable(response)) {
+                long delayMs = retryPolicy.backoffMillis(tryCount, response);
+                if (delayMs >= 0 && !exceedsDeadline(delayMs)) {
+                    response.close();
+                    retryAfter(delayMs);
+                    return;
+                }
+            }
+            T result = handler.handle(response);
+            if (!future.isDone()) {
+                context.metrics().callCompleted(context.endpoint(), System.nanoTime() - startNanos, true);
+                future.complete(result);
+            }
+        } catch (Exception e) {
+            fail(e);
+        } finally {
+            response.close();
+        }
+    }
+
+    private boolean fail(Exception e) {
+        if (future.isDone()) {
+            return false;
+        }
+        context.metrics().callCompleted(context.endpoint(), System.nanoTime() - startNanos, false);
+        return future.completeExceptionally(e);
+    }
+}
@@ -0,0 +1,103 @@
+package xyz.titanecho.topgamesapi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Claims the votes of many players with a bounded number of calls in flight.
+ * A new claim starts as soon as one completes, so the window stays full until the batch drains.
+ * Individual failures are recorded in the result map and never abort the batch.
+ */
+final class BulkClaim {
+    private final List<String> players;
+    private final Function<String, CompletableFuture<Void>> claim;
+    private final AtomicReferenceArray<ClaimResult> results;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private final CompletableFuture<Map<String, ClaimResult>> future = new CompletableFuture<>();
+
+    private BulkClaim(Collection<String> players, Function<String, CompletableFuture<Void>> claim) {
+        this.players = new ArrayList<>(new LinkedHashSet<>(players));
+        this.claim = claim;
+        this.results = new AtomicReferenceArray<>(this.players.size());
+        this.remaining = new AtomicInteger(this.players.size());
+    }
+
+    /**
+     * Claims the vote of every distinct player, keeping at most {@code window} claims in flight.
+     *
+     * @return a future completed with one result per player, in input order, once every claim has finished.
+     */
+    static CompletableFuture<Map<String, ClaimResult>> run(Collection<String> players, int window,
+                                                           Function<String, CompletableFuture<Void>> claim) {
+        BulkClaim bulk = new BulkClaim(players, claim);
+        if (bulk.players.isEmpty()) {
+            bulk.future.complete(Map.of());
+        }
+        for (int i = 0; i < Math.min(window, bulk.players.size()); i++) {
+            bulk.startNext();
+        }
+        return bulk.future;
+    }
+
+    private void startNext() {
+        // Loops rather than recursing when claims complete immediately, so large batches cannot overflow the stack.
+        while (true) {
+            int index = next.getAndIncrement();
+            if (index >= players.size()) {
+                return;
+            }
+            CompletableFuture<Void> call;
+            try {
+                call = claim.apply(players.get(index));
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            if (!call.isDone()) {
+                call.whenComplete((ignored, error) -> {
+                    if (!record(index, error)) {
+                        startNext();
+                    }
+                });
+                return;
+            }
+            if (record(index, call.handle((ignored, error) -> error).join())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if this was the last outstanding claim.
+     */
+    private boolean record(int index, Throwable error) {
+        results.set(index, error == null ? ClaimResult.success() : ClaimResult.failure(unwrap(error)));
+        if (remaining.decrementAndGet() == 0) {
+            complete();
+            return true;
+        }
+        return false;
+    }
+
+    private void complete() {
+        Map<String, ClaimResult> map = new LinkedHashMap<>();
+        for (int i = 0; i < players.size(); i++) {
+            map.put(players.get(i), results.get(i));
+        }
+        future.complete(map);
+    }
+
+    private static TopGamesException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof TopGamesException ? (TopGamesException) cause : new TopGamesException("Claim failed", cause);
+    }
+}
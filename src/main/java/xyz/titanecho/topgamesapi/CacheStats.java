@@ -0,0 +1,76 @@
+package xyz.titanecho.topgamesapi;
+
+/**
+ * A point-in-time snapshot of the in-memory response cache counters.
+ *
+ * @see TopGamesClient#getResponseCacheStats()
+ */
+public final class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long coalescedCount;
+    private final long evictionCount;
+    private final int size;
+
+    CacheStats(long hitCount, long missCount, long coalescedCount, long evictionCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.coalescedCount = coalescedCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * @return The number of lookups served from a fresh cached response.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The number of lookups that triggered an HTTP call.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The number of lookups that joined an HTTP call already in flight for the same key.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * @return The number of entries dropped to keep the cache within its size bound.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return The number of entries currently held, including in-flight loads.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The fraction of lookups that did not trigger an HTTP call, or 1.0 if there were none.
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount + coalescedCount;
+        return requests == 0 ? 1.0 : (double) (hitCount + coalescedCount) / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hits=" + hitCount +
+                ", misses=" + missCount +
+                ", coalesced=" + coalescedCount +
+                ", evictions=" + evictionCount +
+                ", size=" + size +
+                '}';
+    }
+}
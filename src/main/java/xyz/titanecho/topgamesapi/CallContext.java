@@ -0,0 +1,93 @@
+package xyz.titanecho.topgamesapi;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-call state shared between {@link TopGamesClient} and its interceptors.
+ * Attached to each request as a tag, so it survives {@code Request.newBuilder()} in custom interceptors.
+ */
+final class CallContext {
+    private final Endpoint endpoint;
+    private final boolean async;
+    private final MetricsListener metrics;
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+    private final AtomicBoolean prepaidPermit = new AtomicBoolean();
+
+    CallContext(Endpoint endpoint, boolean async, MetricsListener metrics) {
+        this.endpoint = endpoint;
+        this.async = async;
+        this.metrics = metrics;
+        this.hasDeadline = false;
+        this.deadlineNanos = 0;
+    }
+
+    /**
+     * @param timeoutNanos the time the whole call may take, including permit waits and retries.
+     */
+    CallContext(Endpoint endpoint, boolean async, MetricsListener metrics, long timeoutNanos) {
+        this.endpoint = endpoint;
+        this.async = async;
+        this.metrics = metrics;
+        this.hasDeadline = true;
+        this.deadlineNanos = System.nanoTime() + timeoutNanos;
+    }
+
+    Endpoint endpoint() {
+        return endpoint;
+    }
+
+    MetricsListener metrics() {
+        return metrics;
+    }
+
+    /**
+     * Whether the call is driven by {@link AsyncCall}, which schedules its own retries, or is a hedge,
+     * which is never retried on its own.
+     */
+    boolean isAsync() {
+        return async;
+    }
+
+    boolean hasDeadline() {
+        return hasDeadline;
+    }
+
+    /**
+     * @return The time left until the deadline, negative once it has passed. Only meaningful with a deadline.
+     */
+    long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Whether waiting {@code delayNanos} before the next step would run past the deadline.
+     */
+    boolean exceedsDeadline(long delayNanos) {
+        return hasDeadline && delayNanos >= remainingNanos();
+    }
+
+    /**
+     * Records that a rate limit permit was already reserved (and waited for) before the call was enqueued.
+     */
+    void prepayPermit() {
+        prepaidPermit.set(true);
+    }
+
+    /**
+     * Uses up the prepaid permit, if any. Retries of the same call must acquire their own permit.
+     */
+    boolean consumePrepaidPermit() {
+        return prepaidPermit.compareAndSet(true, false);
+    }
+
+    void recordRetry() {
+        metrics.retried(endpoint);
+    }
+
+    void recordRateLimitWait(long waitNanos) {
+        if (waitNanos > 0) {
+            metrics.rateLimitWaited(endpoint, waitNanos);
+        }
+    }
+}
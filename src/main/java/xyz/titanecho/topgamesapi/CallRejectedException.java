@@ -0,0 +1,13 @@
+package xyz.titanecho.topgamesapi;
+
+import java.io.IOException;
+
+/**
+ * Thrown, as the cause of a {@link TopGamesException}, when a call is rejected without being sent because the
+ * circuit breaker is open or the adaptive concurrency limit is reached. Rejected calls are not retried.
+ */
+public class CallRejectedException extends IOException {
+    public CallRejectedException(String message) {
+        super(message);
+    }
+}
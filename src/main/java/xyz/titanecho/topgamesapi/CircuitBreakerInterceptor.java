@@ -0,0 +1,169 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * An OkHttp interceptor that stops sending requests while the API is failing.
+ * <p>
+ * The outcomes of the last {@code windowSize} attempts are kept in a ring. An attempt fails if it throws an
+ * {@link IOException}, gets a 5xx response, or takes longer than the slow-call threshold. Once at least
+ * {@code minimumCalls} outcomes are recorded and the failure rate reaches the threshold, the circuit opens
+ * and attempts are rejected with a {@link CallRejectedException} without touching the network. After the
+ * open duration, {@code probes} attempts are let through: if they all succeed the circuit closes with an
+ * empty window, otherwise it opens again. Cancelled attempts are not outcomes; a cancelled probe frees its
+ * place for another one.
+ * <p>
+ * Sits inside the retry interceptor, so every attempt is checked, and rejected attempts are not retried.
+ */
+class CircuitBreakerInterceptor implements Interceptor {
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakerInterceptor.class);
+
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int minimumCalls;
+    private final int probes;
+    private final MetricsListener metrics;
+    private final boolean[] window;
+    private int next;
+    private int recorded;
+    private int failures;
+    private CircuitState state = CircuitState.CLOSED;
+    private long openedAt;
+    private int probesAdmitted;
+    private int probesSucceeded;
+
+    CircuitBreakerInterceptor(double failureRateThreshold, long slowCallNanos, long openNanos, int windowSize,
+                              int minimumCalls, int probes, MetricsListener metrics) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("Failure rate threshold must be in (0, 1]");
+        }
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || probes < 1) {
+            throw new IllegalArgumentException("Window, minimum calls and probes must be positive, and minimum calls must fit the window");
+        }
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.openNanos = openNanos;
+        this.minimumCalls = minimumCalls;
+        this.probes = probes;
+        this.metrics = metrics;
+        this.window = new boolean[windowSize];
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!tryAcquire()) {
+            CallContext context = request.tag(CallContext.class);
+            if (context != null) {
+                context.metrics().callRejected(context.endpoint());
+            }
+            throw new CallRejectedException("Circuit breaker is open");
+        }
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (CallRejectedException e) {
+            // Rejected further down the chain without reaching the API: not an outcome.
+            release();
+            throw e;
+        } catch (IOException e) {
+            if (chain.call().isCanceled()) {
+                // Cancelled by the caller, its deadline or a winning hedge: says nothing about the API.
+                release();
+            } else {
+                record(true);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+        record(response.code() >= 500 || System.nanoTime() - start >= slowCallNanos);
+        return response;
+    }
+
+    synchronized CircuitState state() {
+        if (state == CircuitState.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            return CircuitState.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private synchronized boolean tryAcquire() {
+        if (state == CircuitState.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            transition(CircuitState.HALF_OPEN);
+            probesAdmitted = 0;
+            probesSucceeded = 0;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (probesAdmitted >= probes) {
+                return false;
+            }
+            probesAdmitted++;
+        }
+        return true;
+    }
+
+    private synchronized void release() {
+        if (state == CircuitState.HALF_OPEN && probesAdmitted > probesSucceeded) {
+            probesAdmitted--;
+        }
+    }
+
+    private synchronized void record(boolean failed) {
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failed) {
+                    open();
+                } else if (++probesSucceeded >= probes) {
+                    next = 0;
+                    recorded = 0;
+                    failures = 0;
+                    transition(CircuitState.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                if (recorded == window.length) {
+                    failures -= window[next] ? 1 : 0;
+                } else {
+                    recorded++;
+                }
+                window[next] = failed;
+                failures += failed ? 1 : 0;
+                next = (next + 1) % window.length;
+                if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+                    open();
+                }
+            }
+            case OPEN -> {
+                // A late outcome of an attempt admitted before the circuit opened.
+            }
+        }
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        transition(CircuitState.OPEN);
+    }
+
+    private void transition(CircuitState to) {
+        if (state != to) {
+            log.info("Circuit breaker {} -> {}", state, to);
+            state = to;
+            metrics.circuitStateChanged(to);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package xyz.titanecho.topgamesapi;
+
+/**
+ * The state of the client's circuit breaker.
+ *
+ * @see TopGamesClient.Builder#circuitBreaker(double, java.time.Duration, java.time.Duration)
+ * @see TopGamesClient#getCircuitState()
+ */
+public enum CircuitState {
+    /**
+     * Calls pass and their outcomes are recorded.
+     */
+    CLOSED,
+    /**
+     * Calls fail immediately with a {@link CallRejectedException}.
+     */
+    OPEN,
+    /**
+     * A few probe calls pass; if they all succeed the circuit closes, otherwise it opens again.
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,25 @@
+package xyz.titanecho.topgamesapi;
+
+/**
+ * Thrown by {@link TopGamesClient#claimVoteAsync(xyz.titanecho.topgamesapi.model.Vote)} for a vote whose claim
+ * was in flight when the application last stopped. The API may or may not have recorded that claim, so the
+ * vote is not claimed again automatically.
+ * <p>
+ * Settle it with {@link ClaimJournal#markClaimed(String)} if the player was rewarded, or with
+ * {@link ClaimJournal#markNotClaimed(String)} if the API did not record the claim, so that the next
+ * {@code claimVote} claims it again.
+ *
+ * @see ClaimJournal#getPendingClaims()
+ */
+public class ClaimInDoubtException extends TopGamesException {
+    private final String voteId;
+
+    public ClaimInDoubtException(String voteId) {
+        super("Claim of vote " + voteId + " was in flight when the application stopped");
+        this.voteId = voteId;
+    }
+
+    public String getVoteId() {
+        return voteId;
+    }
+}
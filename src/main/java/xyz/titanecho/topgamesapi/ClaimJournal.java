@@ -0,0 +1,500 @@
+package xyz.titanecho.topgamesapi;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * A durable record of the votes this application has seen and claimed, so that claims survive crashes
+ * and restarts. Plug it into the client with {@link TopGamesClient.Builder#claimJournal(ClaimJournal)} and
+ * claim through {@link TopGamesClient#claimVoteAsync(xyz.titanecho.topgamesapi.model.Vote)}: a vote that is
+ * already claimed in the journal is not claimed again.
+ * <p>
+ * The journal is an append-only file of small checksummed records, written through a {@link FileChannel}.
+ * Marks are buffered and written with a single {@code fsync} per group-commit window. The in-memory state
+ * and the marks' futures are only updated once the write is durable, so a failed write leaves no trace of
+ * its marks. A torn record at the end of the file, left by a crash during a write, is dropped on replay.
+ * <p>
+ * Once the file holds far more records than live votes, it is compacted: rewritten with one record per
+ * vote, minus claimed votes older than the retention, then atomically moved over the old file, and the
+ * directory is synced so the move itself survives a crash. Marks made meanwhile are written to the new file.
+ * <p>
+ * A vote marked seen but never claimed in an earlier run was in flight when the application stopped; the
+ * API may or may not have recorded the claim. These votes are reported by {@link #getPendingClaims()}, and
+ * the client refuses to claim them again with a {@link ClaimInDoubtException} until they are settled with
+ * {@link #markClaimed(String)} or {@link #markNotClaimed(String)}. Pending votes are never dropped by
+ * compaction, however old.
+ * <p>
+ * The journal owns one daemon thread, which performs all file I/O. All methods are thread-safe.
+ */
+public final class ClaimJournal implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(ClaimJournal.class);
+
+    private static final byte SEEN = 1;
+    private static final byte CLAIMED = 2;
+    private static final byte NOT_CLAIMED = 3;
+    // Type, timestamp and ID length, then the ID, then a CRC32C of everything before it.
+    private static final int RECORD_HEADER_BYTES = 1 + 8 + 2;
+    private static final int RECORD_TRAILER_BYTES = 4;
+    private static final int MAX_ID_BYTES = 0xFFFF;
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+    private static final int MIN_COMPACTION_RECORDS = 65_536;
+    private static final Duration MIN_RETENTION = Duration.ofDays(1);
+
+    private record Mark(byte type, String voteId, long timestamp) {
+    }
+
+    private final Path path;
+    private final long windowNanos;
+    private final long retentionMillis;
+    private final long openedAtMillis = System.currentTimeMillis();
+    private final ScheduledExecutorService writer;
+    // Vote ID to (timestamp << 1 | claimed).
+    private final Map<String, Long> votes;
+    private final Set<String> inFlight = new HashSet<>();
+    private FileChannel channel;
+    private ByteBuffer pending = ByteBuffer.allocate(4096);
+    private ByteBuffer spare = ByteBuffer.allocate(4096);
+    private List<Mark> marks = new ArrayList<>();
+    private List<CompletableFuture<Void>> waiters = new ArrayList<>();
+    private boolean flushScheduled;
+    private long records;
+    private boolean closed;
+
+    private ClaimJournal(Builder builder) throws IOException {
+        this.path = builder.file;
+        this.windowNanos = builder.groupCommitWindow.toNanos();
+        this.retentionMillis = builder.retention.toMillis();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.votes = new HashMap<>((int) Math.min(Integer.MAX_VALUE / 2, channel.size() / 24 + 16));
+            replay();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TopGames-ClaimJournal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return {@code true} if the vote has durably been marked claimed.
+     */
+    public synchronized boolean isClaimed(@NotNull String voteId) {
+        Long state = votes.get(voteId);
+        return state != null && (state & 1) != 0;
+    }
+
+    /**
+     * @return The votes marked seen but not claimed, including claims in flight in this process.
+     */
+    public synchronized Set<String> getPendingClaims() {
+        Set<String> pending = new HashSet<>();
+        for (Map.Entry<String, Long> entry : votes.entrySet()) {
+            if ((entry.getValue() & 1) == 0) {
+                pending.add(entry.getKey());
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * @return The number of votes in the journal.
+     */
+    public synchronized int size() {
+        return votes.size();
+    }
+
+    /**
+     * Records that a claim for the vote is about to be made.
+     *
+     * @return A future completed once the record is durable.
+     */
+    public CompletableFuture<Void> markSeen(@NotNull String voteId) {
+        return append(SEEN, voteId);
+    }
+
+    /**
+     * Records that the vote was claimed.
+     *
+     * @return A future completed once the record is durable.
+     */
+    public CompletableFuture<Void> markClaimed(@NotNull String voteId) {
+        return append(CLAIMED, voteId);
+    }
+
+    /**
+     * Settles a pending vote as not claimed: the API did not record its claim, so the vote may be claimed
+     * again. Has no effect on a vote that is marked claimed.
+     *
+     * @return A future completed once the record is durable.
+     */
+    public CompletableFuture<Void> markNotClaimed(@NotNull String voteId) {
+        return append(NOT_CLAIMED, voteId);
+    }
+
+    /**
+     * Starts a claim unless the vote is already claimed or being claimed by this process.
+     *
+     * @return A future completed once the seen record is durable, or {@code null} if the vote must not be claimed.
+     * @throws ClaimInDoubtException if a claim of the vote was in flight when an earlier run stopped.
+     */
+    CompletableFuture<Void> begin(String voteId) throws ClaimInDoubtException {
+        synchronized (this) {
+            Long state = votes.get(voteId);
+            if (state != null && (state & 1) != 0 || inFlight.contains(voteId)) {
+                return null;
+            }
+            if (state != null && (state >> 1) <= openedAtMillis) {
+                throw new ClaimInDoubtException(voteId);
+            }
+            inFlight.add(voteId);
+        }
+        return markSeen(voteId);
+    }
+
+    /**
+     * Ends a claim started with {@link #begin(String)}, marking it claimed if it succeeded. The vote stays in
+     * flight until the claimed record is durable, so it cannot be claimed twice in between.
+     */
+    CompletableFuture<Void> end(String voteId, boolean claimed) {
+        CompletableFuture<Void> durable;
+        try {
+            durable = claimed ? markClaimed(voteId) : CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            durable = CompletableFuture.failedFuture(e);
+        }
+        return durable.whenComplete((ignored, error) -> {
+            synchronized (this) {
+                inFlight.remove(voteId);
+            }
+        });
+    }
+
+    /**
+     * Rewrites the file with one record per live vote. Runs automatically once the file holds far more
+     * records than votes.
+     */
+    public void compact() throws IOException {
+        await(CompletableFuture.runAsync(() -> {
+            flush();
+            try {
+                rewrite();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, writer));
+    }
+
+    private CompletableFuture<Void> append(byte type, String voteId) {
+        byte[] id = voteId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > MAX_ID_BYTES) {
+            throw new IllegalArgumentException("Vote ID is too long");
+        }
+        long now = System.currentTimeMillis();
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Claim journal is closed");
+            }
+            int length = RECORD_HEADER_BYTES + id.length + RECORD_TRAILER_BYTES;
+            if (pending.remaining() < length) {
+                pending = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + length))
+                        .put(pending.flip());
+            }
+            int start = pending.position();
+            pending.put(type).putLong(now).putShort((short) id.length).put(id);
+            CRC32C crc = new CRC32C();
+            crc.update(pending.array(), start, pending.position() - start);
+            pending.putInt((int) crc.getValue());
+            records++;
+            marks.add(new Mark(type, voteId, now));
+            waiters.add(durable);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                writer.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        return durable;
+    }
+
+    private void apply(byte type, String voteId, long timestamp) {
+        switch (type) {
+            case CLAIMED -> votes.put(voteId, timestamp << 1 | 1);
+            case NOT_CLAIMED -> votes.computeIfPresent(voteId, (id, state) -> (state & 1) != 0 ? state : null);
+            default -> votes.putIfAbsent(voteId, timestamp << 1);
+        }
+    }
+
+    // Runs on the writer thread only, so the channel is never used concurrently and marks are applied in order.
+    private void flush() {
+        ByteBuffer batch;
+        List<Mark> batchMarks;
+        List<CompletableFuture<Void>> batchWaiters;
+        synchronized (this) {
+            flushScheduled = false;
+            if (waiters.isEmpty()) {
+                return;
+            }
+            batch = pending.flip();
+            batchMarks = marks;
+            batchWaiters = waiters;
+            pending = spare != null ? spare : ByteBuffer.allocate(4096);
+            spare = null;
+            marks = new ArrayList<>();
+            waiters = new ArrayList<>();
+        }
+        boolean compact;
+        try {
+            writeBatch(batch);
+            synchronized (this) {
+                for (Mark mark : batchMarks) {
+                    apply(mark.type(), mark.voteId(), mark.timestamp());
+                }
+            }
+            batchWaiters.forEach(waiter -> waiter.complete(null));
+        } catch (IOException e) {
+            log.error("Failed to write claim journal {}", path, e);
+            batchWaiters.forEach(waiter -> waiter.completeExceptionally(e));
+        } finally {
+            synchronized (this) {
+                spare = batch.clear();
+                compact = records > MIN_COMPACTION_RECORDS && records > 2L * votes.size();
+            }
+        }
+        if (compact) {
+            try {
+                rewrite();
+            } catch (IOException e) {
+                log.error("Failed to compact claim journal {}", path, e);
+            }
+        }
+    }
+
+    /**
+     * Writes and syncs a batch. On failure, cuts the file back to where the batch started, so none of its
+     * records are replayed after a restart.
+     */
+    private void writeBatch(ByteBuffer batch) throws IOException {
+        long start = channel.position();
+        try {
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+    }
+
+    // Runs on the writer thread after a flush. Marks are only applied on this thread, so the snapshot stays
+    // current while the file is written without holding the lock; newer marks wait in the pending buffer.
+    private void rewrite() throws IOException {
+        String[] ids;
+        long[] states;
+        synchronized (this) {
+            long cutoff = System.currentTimeMillis() - retentionMillis;
+            // Only claimed votes: dropping a pending one would let an unsettled claim be made twice.
+            votes.values().removeIf(state -> (state & 1) != 0 && (state >> 1) < cutoff);
+            ids = new String[votes.size()];
+            states = new long[votes.size()];
+            int i = 0;
+            for (Map.Entry<String, Long> entry : votes.entrySet()) {
+                ids[i] = entry.getKey();
+                states[i++] = entry.getValue();
+            }
+        }
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+            CRC32C crc = new CRC32C();
+            for (int i = 0; i < ids.length; i++) {
+                byte[] id = ids[i].getBytes(StandardCharsets.UTF_8);
+                if (buffer.remaining() < RECORD_HEADER_BYTES + id.length + RECORD_TRAILER_BYTES) {
+                    write(out, buffer);
+                }
+                long state = states[i];
+                int start = buffer.position();
+                buffer.put((state & 1) != 0 ? CLAIMED : SEEN).putLong(state >> 1).putShort((short) id.length).put(id);
+                crc.reset();
+                crc.update(buffer.array(), start, buffer.position() - start);
+                buffer.putInt((int) crc.getValue());
+            }
+            write(out, buffer);
+            out.force(true);
+        }
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // The rename is only durable once the directory entry is.
+        try (FileChannel directory = FileChannel.open(path.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+        channel.close();
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        synchronized (this) {
+            records = ids.length + marks.size();
+        }
+        log.debug("Compacted claim journal {} to {} votes", path, ids.length);
+    }
+
+    private static void write(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void replay() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        byte[] array = buffer.array();
+        CRC32C crc = new CRC32C();
+        long valid = 0;
+        boolean corrupt = false;
+        boolean eof = false;
+        while (!eof && !corrupt) {
+            eof = channel.read(buffer) < 0;
+            buffer.flip();
+            while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+                int start = buffer.position();
+                int idLength = buffer.getShort(start + 9) & 0xFFFF;
+                int length = RECORD_HEADER_BYTES + idLength + RECORD_TRAILER_BYTES;
+                if (buffer.remaining() < length) {
+                    break;
+                }
+                crc.reset();
+                crc.update(array, start, length - RECORD_TRAILER_BYTES);
+                byte type = buffer.get(start);
+                if ((int) crc.getValue() != buffer.getInt(start + length - RECORD_TRAILER_BYTES)
+                        || (type != SEEN && type != CLAIMED && type != NOT_CLAIMED)) {
+                    corrupt = true;
+                    break;
+                }
+                apply(type, new String(array, start + RECORD_HEADER_BYTES, idLength, StandardCharsets.UTF_8),
+                        buffer.getLong(start + 1));
+                buffer.position(start + length);
+                valid += length;
+                records++;
+            }
+            buffer.compact();
+        }
+        if (valid < channel.size()) {
+            log.warn("Dropping {} bytes of incomplete or corrupt records at the end of claim journal {}",
+                    channel.size() - valid, path);
+            channel.truncate(valid);
+        }
+        channel.position(valid);
+    }
+
+    private static void await(CompletableFuture<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the claim journal", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            throw new IOException("Claim journal operation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Writes pending records, then closes the file and stops the journal's thread.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            await(CompletableFuture.runAsync(this::flush, writer));
+        } finally {
+            writer.shutdown();
+            channel.close();
+        }
+    }
+
+    public static class Builder {
+        private final Path file;
+        private Duration groupCommitWindow = Duration.ZERO;
+        private Duration retention = Duration.ofDays(30);
+
+        public Builder(@NotNull Path file) {
+            this.file = Objects.requireNonNull(file, "File must not be null");
+        }
+
+        /**
+         * Sets how long marks are collected before they are written with one {@code fsync}. Defaults to zero:
+         * marks are written as soon as the writer thread is free, and all marks made during a write share
+         * the next one. A window only helps when the disk syncs faster than marks arrive.
+         */
+        public Builder groupCommitWindow(@NotNull Duration groupCommitWindow) {
+            if (groupCommitWindow.isNegative()) {
+                throw new IllegalArgumentException("Group commit window must not be negative");
+            }
+            this.groupCommitWindow = groupCommitWindow;
+            return this;
+        }
+
+        /**
+         * Sets how long claimed votes are kept once the journal is compacted; pending votes are kept until
+         * they are settled. Defaults to 30 days, and must be at least one day. Should exceed the time a vote
+         * stays in the API's unclaimed list, or an old vote still listed there could be claimed again.
+         */
+        public Builder retention(@NotNull Duration retention) {
+            Objects.requireNonNull(retention);
+            if (retention.compareTo(MIN_RETENTION) < 0) {
+                throw new IllegalArgumentException("Retention must be at least one day");
+            }
+            this.retention = retention;
+            return this;
+        }
+
+        /**
+         * Opens the journal, creating the file if missing, and replays it.
+         */
+        public ClaimJournal build() throws IOException {
+            return new ClaimJournal(this);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package xyz.titanecho.topgamesapi;
+
+/**
+ * The outcome of claiming the vote of a single player in a bulk claim.
+ *
+ * @see TopGamesClient#claimVotesByUsername(java.util.Collection)
+ * @see TopGamesClient#claimVotesBySteamId(java.util.Collection)
+ */
+public final class ClaimResult {
+    private static final ClaimResult SUCCESS = new ClaimResult(null);
+
+    private final TopGamesException error;
+
+    private ClaimResult(TopGamesException error) {
+        this.error = error;
+    }
+
+    static ClaimResult success() {
+        return SUCCESS;
+    }
+
+    static ClaimResult failure(TopGamesException error) {
+        return new ClaimResult(error);
+    }
+
+    /**
+     * @return {@code true} if the vote was claimed.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return The reason the claim failed, or {@code null} if it succeeded.
+     */
+    public TopGamesException getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "ClaimResult{success}" : "ClaimResult{error=" + error.getMessage() + '}';
+    }
+}
@@ -0,0 +1,123 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.ConnectionPool;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link MetricsListener} that keeps its measurements in memory, without any dependencies.
+ * <p>
+ * Counters are {@link LongAdder}s and latencies go into preallocated log-linear histograms, so recording
+ * never allocates or blocks. Read the numbers with {@link #getEndpointStats(Endpoint)}, which takes a snapshot.
+ * <pre>
+ * ClientMetrics metrics = new ClientMetrics();
+ * TopGamesClient client = new TopGamesClient.Builder().apiKey(key).metricsListener(metrics).build();
+ * ...
+ * Duration p99 = metrics.getEndpointStats(Endpoint.UNCLAIMED_VOTES).getLatencyPercentile(0.99);
+ * </pre>
+ */
+public class ClientMetrics implements MetricsListener {
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Priority, Histogram> queueWaits = new EnumMap<>(Priority.class);
+    private volatile ConnectionPool connectionPool;
+
+    public ClientMetrics() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder());
+        }
+        for (Priority priority : Priority.values()) {
+            queueWaits.put(priority, new Histogram());
+        }
+    }
+
+    @Override
+    public void bindConnectionPool(@NotNull ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    @Override
+    public void callCompleted(@NotNull Endpoint endpoint, long latencyNanos, boolean success) {
+        Recorder recorder = recorders.get(endpoint);
+        recorder.latency.record(latencyNanos);
+        recorder.calls.increment();
+        if (!success) {
+            recorder.failures.increment();
+        }
+    }
+
+    @Override
+    public void retried(@NotNull Endpoint endpoint) {
+        recorders.get(endpoint).retries.increment();
+    }
+
+    @Override
+    public void rateLimitWaited(@NotNull Endpoint endpoint, long waitNanos) {
+        recorders.get(endpoint).rateLimitWaitNanos.add(waitNanos);
+    }
+
+    @Override
+    public void responseDecoded(@NotNull Endpoint endpoint, long bodyBytes, long decodeNanos, boolean fromCache) {
+        Recorder recorder = recorders.get(endpoint);
+        recorder.decode.record(decodeNanos);
+        recorder.responseBytes.add(bodyBytes);
+        if (fromCache) {
+            recorder.httpCacheHits.increment();
+        }
+    }
+
+    @Override
+    public void queueWaited(@NotNull Priority priority, long waitNanos) {
+        queueWaits.get(priority).record(waitNanos);
+    }
+
+    /**
+     * Returns a percentile of the time attempts of the given priority waited in the request scheduler,
+     * accurate to about 6%. Zero if {@link TopGamesClient.Builder#priorityScheduling(int)} is not used.
+     *
+     * @param quantile a value between 0 and 1, e.g. {@code 0.99} for the 99th percentile.
+     */
+    public Duration getQueueWaitPercentile(@NotNull Priority priority, double quantile) {
+        return Duration.ofNanos(Histogram.valueAt(queueWaits.get(priority).snapshot(), quantile));
+    }
+
+    /**
+     * @return A snapshot of the measurements for one endpoint.
+     */
+    public EndpointStats getEndpointStats(@NotNull Endpoint endpoint) {
+        Recorder recorder = recorders.get(endpoint);
+        return new EndpointStats(endpoint, recorder.calls.sum(), recorder.failures.sum(), recorder.retries.sum(),
+                recorder.httpCacheHits.sum(), recorder.responseBytes.sum(), recorder.rateLimitWaitNanos.sum(),
+                recorder.latency.snapshot(), recorder.decode.snapshot());
+    }
+
+    /**
+     * @return The number of open connections in the client's pool, or 0 before the listener is bound to a client.
+     */
+    public int getConnectionCount() {
+        ConnectionPool pool = connectionPool;
+        return pool != null ? pool.connectionCount() : 0;
+    }
+
+    /**
+     * @return The number of idle connections in the client's pool, or 0 before the listener is bound to a client.
+     */
+    public int getIdleConnectionCount() {
+        ConnectionPool pool = connectionPool;
+        return pool != null ? pool.idleConnectionCount() : 0;
+    }
+
+    private static final class Recorder {
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder httpCacheHits = new LongAdder();
+        final LongAdder responseBytes = new LongAdder();
+        final LongAdder rateLimitWaitNanos = new LongAdder();
+        final Histogram latency = new Histogram();
+        final Histogram decode = new Histogram();
+    }
+}
@@ -0,0 +1,152 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An OkHttp interceptor that limits the number of attempts in flight, adapting the limit to upstream latency.
+ * <p>
+ * The limit follows AIMD with a Vegas-style congestion signal. The lowest latency seen in the last
+ * {@value #MIN_LATENCY_WINDOW_SECONDS} seconds is taken as the uncongested baseline, and a smoothed latency,
+ * an exponential moving average over about {@value #SMOOTHING} attempts, as the current round trip. Their
+ * ratio estimates how many of the attempts in flight are queued upstream rather than being served:
+ * {@code inFlight * (1 - baseline / smoothed)}. The API counts as congested once that queue exceeds what it
+ * would be with the whole limit in flight at {@value #LATENCY_TOLERANCE} times the baseline, and at least
+ * one attempt. A few attempts in flight, such as serial calls, thus never look congested however much their
+ * latency varies.
+ * <p>
+ * Congestion, or an attempt that fails with an {@link IOException} or a 5xx response, shrinks the limit by
+ * 10%, at most once per smoothed round trip, so one slow spell costs one cut rather than one per attempt.
+ * Any other attempt grows it by {@code 1 / limit}, i.e. by about one per round trip, if at least half the
+ * limit was in use or the limit is below its initial value. Attempts over the limit are rejected with a
+ * {@link CallRejectedException} instead of queuing behind slow ones. Cancelled attempts free their slot
+ * without adjusting the limit.
+ * <p>
+ * Latency is measured to the response headers; body reads do not hold a slot.
+ */
+class ConcurrencyLimitInterceptor implements Interceptor {
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double BACKOFF = 0.9;
+    private static final long MIN_LATENCY_WINDOW_SECONDS = 30;
+    private static final int SMOOTHING = 8;
+
+    private final int initialLimit;
+    private final int maxLimit;
+    private final MetricsListener metrics;
+    private double limit;
+    private int inFlight;
+    private long minLatencyNanos = Long.MAX_VALUE;
+    private long minLatencyResetAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(MIN_LATENCY_WINDOW_SECONDS);
+    private long smoothedLatencyNanos = -1;
+    private long nextDecreaseAt = System.nanoTime();
+
+    ConcurrencyLimitInterceptor(int initialLimit, int maxLimit, MetricsListener metrics) {
+        if (initialLimit < 1 || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Initial limit must be positive and must not exceed the maximum");
+        }
+        this.initialLimit = initialLimit;
+        this.limit = initialLimit;
+        this.maxLimit = maxLimit;
+        this.metrics = metrics;
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Request request = chain.request();
+        int inFlightAtStart = tryAcquire();
+        if (inFlightAtStart < 0) {
+            CallContext context = request.tag(CallContext.class);
+            if (context != null) {
+                context.metrics().callRejected(context.endpoint());
+            }
+            throw new CallRejectedException("Concurrency limit of " + limit() + " reached");
+        }
+        long start = System.nanoTime();
+        try {
+            Response response = chain.proceed(request);
+            release(inFlightAtStart, System.nanoTime() - start, response.code() >= 500);
+            return response;
+        } catch (IOException e) {
+            if (chain.call().isCanceled()) {
+                // Cancelled by the caller, its deadline or a winning hedge: not a sign of congestion.
+                abandon();
+            } else {
+                release(inFlightAtStart, System.nanoTime() - start, true);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            abandon();
+            throw e;
+        }
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return the number of attempts in flight including this one, or {@code -1} if the limit is reached.
+     */
+    synchronized int tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return -1;
+        }
+        return ++inFlight;
+    }
+
+    /**
+     * Frees the slot of an attempt whose outcome says nothing about the API, without adjusting the limit.
+     */
+    private synchronized void abandon() {
+        inFlight--;
+    }
+
+    private void release(int inFlightAtStart, long latencyNanos, boolean dropped) {
+        release(inFlightAtStart, latencyNanos, dropped, System.nanoTime());
+    }
+
+    synchronized void release(int inFlightAtStart, long latencyNanos, boolean dropped, long now) {
+        inFlight--;
+        if (now - minLatencyResetAt >= 0) {
+            minLatencyNanos = Long.MAX_VALUE;
+            minLatencyResetAt = now + TimeUnit.SECONDS.toNanos(MIN_LATENCY_WINDOW_SECONDS);
+        }
+        if (!dropped) {
+            minLatencyNanos = Math.min(minLatencyNanos, latencyNanos);
+            smoothedLatencyNanos = smoothedLatencyNanos < 0
+                    ? latencyNanos
+                    : smoothedLatencyNanos + (latencyNanos - smoothedLatencyNanos) / SMOOTHING;
+        }
+        int before = (int) limit;
+        if (dropped || isCongested(inFlightAtStart)) {
+            if (now - nextDecreaseAt >= 0) {
+                limit = Math.max(1, limit * BACKOFF);
+                // Attempts already in flight saw the same conditions; give the cut one round trip to take effect.
+                nextDecreaseAt = now + Math.max(smoothedLatencyNanos, latencyNanos);
+            }
+        } else if (inFlightAtStart * 2 >= limit || limit < initialLimit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        if ((int) limit != before) {
+            metrics.concurrencyLimitChanged((int) limit);
+        }
+    }
+
+    private boolean isCongested(int inFlightAtStart) {
+        if (smoothedLatencyNanos <= 0) {
+            return false;
+        }
+        double queued = inFlightAtStart * (1 - (double) minLatencyNanos / smoothedLatencyNanos);
+        return queued > Math.max(1, limit * (1 - 1 / LATENCY_TOLERANCE));
+    }
+}
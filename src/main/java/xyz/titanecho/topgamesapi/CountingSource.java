@@ -0,0 +1,42 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Counts the bytes read through a response body, for {@link MetricsListener#responseDecoded}.
+ * Transparently decompressed bodies have no usable {@code Content-Length}, so the count is taken as the body is read.
+ */
+final class CountingSource extends ForwardingSource {
+    private long bytesRead;
+
+    CountingSource(Source delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public long read(@NotNull Buffer sink, long byteCount) throws IOException {
+        long read = super.read(sink, byteCount);
+        if (read > 0) {
+            bytesRead += read;
+        }
+        return read;
+    }
+
+    /**
+     * @return A body that reads from this source, with the original's content type and length.
+     */
+    ResponseBody asBody(ResponseBody original) {
+        return ResponseBody.create(Okio.buffer(this), original.contentType(), original.contentLength());
+    }
+
+    long bytesRead() {
+        return bytesRead;
+    }
+}
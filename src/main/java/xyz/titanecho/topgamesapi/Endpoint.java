@@ -0,0 +1,49 @@
+package xyz.titanecho.topgamesapi;
+
+/**
+ * The Top-Games API endpoints called by {@link TopGamesClient}.
+ * Used to configure per-endpoint behaviour such as response cache TTLs.
+ */
+public enum Endpoint {
+    /** {@code GET /games/{id}} */
+    GAME,
+    /** {@code GET /games/top} */
+    TOP_GAMES,
+    /** {@code GET /votes/last} */
+    UNCLAIMED_VOTES,
+    /** {@code GET /votes/claim-username} */
+    CLAIM_VOTE_BY_USERNAME,
+    /** {@code GET /votes/claim-steam} */
+    CLAIM_VOTE_BY_STEAM_ID,
+    /** {@code GET /votes/check-ip} */
+    CHECK_VOTE_BY_IP,
+    /** {@code GET /votes/check} */
+    CHECK_VOTE_BY_USERNAME,
+    /** {@code GET /servers/{token}} */
+    SERVER_INFO,
+    /** {@code GET /servers/{token}/full} */
+    FULL_SERVER_INFO,
+    /** {@code GET /servers/{token}/stats} */
+    SERVER_STATS,
+    /** {@code GET /servers/{token}/players-ranking} */
+    PLAYERS_RANKING;
+
+    /**
+     * @return Whether the endpoint only reads, so sending the same request twice is harmless.
+     * The claim endpoints are plain GETs too, but change state.
+     */
+    boolean isReadOnly() {
+        return this != CLAIM_VOTE_BY_USERNAME && this != CLAIM_VOTE_BY_STEAM_ID;
+    }
+
+    /**
+     * @return The priority class used by the request scheduler unless configured otherwise.
+     */
+    Priority defaultPriority() {
+        return switch (this) {
+            case CHECK_VOTE_BY_IP, CHECK_VOTE_BY_USERNAME, CLAIM_VOTE_BY_USERNAME, CLAIM_VOTE_BY_STEAM_ID -> Priority.INTERACTIVE;
+            case GAME, TOP_GAMES, UNCLAIMED_VOTES, SERVER_INFO -> Priority.NORMAL;
+            case FULL_SERVER_INFO, SERVER_STATS, PLAYERS_RANKING -> Priority.BACKGROUND;
+        };
+    }
+}
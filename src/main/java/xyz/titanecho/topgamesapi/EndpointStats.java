@@ -0,0 +1,112 @@
+package xyz.titanecho.topgamesapi;
+
+import java.time.Duration;
+
+/**
+ * A point-in-time snapshot of the measurements for one endpoint.
+ *
+ * @see ClientMetrics#getEndpointStats(Endpoint)
+ */
+public final class EndpointStats {
+    private final Endpoint endpoint;
+    private final long callCount;
+    private final long failureCount;
+    private final long retryCount;
+    private final long httpCacheHitCount;
+    private final long responseBytes;
+    private final long rateLimitWaitNanos;
+    private final long[] latencyBuckets;
+    private final long[] decodeBuckets;
+
+    EndpointStats(Endpoint endpoint, long callCount, long failureCount, long retryCount, long httpCacheHitCount,
+                  long responseBytes, long rateLimitWaitNanos, long[] latencyBuckets, long[] decodeBuckets) {
+        this.endpoint = endpoint;
+        this.callCount = callCount;
+        this.failureCount = failureCount;
+        this.retryCount = retryCount;
+        this.httpCacheHitCount = httpCacheHitCount;
+        this.responseBytes = responseBytes;
+        this.rateLimitWaitNanos = rateLimitWaitNanos;
+        this.latencyBuckets = latencyBuckets;
+        this.decodeBuckets = decodeBuckets;
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return The number of completed calls, successful or not.
+     */
+    public long getCallCount() {
+        return callCount;
+    }
+
+    /**
+     * @return The number of calls that completed with an exception.
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * @return The number of retried attempts.
+     */
+    public long getRetryCount() {
+        return retryCount;
+    }
+
+    /**
+     * @return The number of responses served by the OkHttp disk cache without a network request.
+     */
+    public long getHttpCacheHitCount() {
+        return httpCacheHitCount;
+    }
+
+    /**
+     * @return The total number of response body bytes decoded.
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @return The total time spent waiting for rate limit permits.
+     */
+    public Duration getRateLimitWait() {
+        return Duration.ofNanos(rateLimitWaitNanos);
+    }
+
+    /**
+     * Returns a call latency percentile, accurate to about 6%.
+     *
+     * @param quantile a value between 0 and 1, e.g. {@code 0.99} for the 99th percentile.
+     */
+    public Duration getLatencyPercentile(double quantile) {
+        return Duration.ofNanos(Histogram.valueAt(latencyBuckets, quantile));
+    }
+
+    /**
+     * Returns a JSON decode time percentile, accurate to about 6%.
+     *
+     * @param quantile a value between 0 and 1, e.g. {@code 0.99} for the 99th percentile.
+     */
+    public Duration getDecodePercentile(double quantile) {
+        return Duration.ofNanos(Histogram.valueAt(decodeBuckets, quantile));
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointStats{" +
+                "endpoint=" + endpoint +
+                ", calls=" + callCount +
+                ", failures=" + failureCount +
+                ", retries=" + retryCount +
+                ", httpCacheHits=" + httpCacheHitCount +
+                ", responseBytes=" + responseBytes +
+                ", rateLimitWait=" + getRateLimitWait() +
+                ", p50=" + getLatencyPercentile(0.5) +
+                ", p99=" + getLatencyPercentile(0.99) +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+package xyz.titanecho.topgamesapi;
+
+import com.google.gson.TypeAdapter;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * A precompiled endpoint: its path and server token already encoded, the request headers, and the
+ * response {@link TypeAdapter}.
+ * <p>
+ * Built once per client. Endpoints without per-call parameters reuse one immutable {@link HttpUrl};
+ * the others append only their variable part. Each call then builds exactly one {@link Request},
+ * already carrying its {@link CallContext}.
+ *
+ * @param <T> the decoded response type, or {@link Void} if the body is not decoded.
+ */
+final class EndpointTemplate<T> {
+    private final Endpoint endpoint;
+    private final HttpUrl path;
+    private final String encodedServerToken;
+    private final HttpUrl url;
+    private final Headers headers;
+    private final TypeAdapter<T> adapter;
+
+    /**
+     * @param path        the URL without a query.
+     * @param serverToken the {@code server_token} query parameter, or {@code null} if the endpoint takes none.
+     * @param adapter     the response adapter, or {@code null} to skip decoding the body.
+     */
+    EndpointTemplate(Endpoint endpoint, HttpUrl path, String serverToken, Headers headers, TypeAdapter<T> adapter) {
+        this.endpoint = endpoint;
+        this.path = path;
+        this.headers = headers;
+        this.adapter = adapter;
+        if (serverToken != null) {
+            this.url = path.newBuilder().addQueryParameter("server_token", serverToken).build();
+            this.encodedServerToken = url.encodedQuery().substring("server_token=".length());
+        } else {
+            this.url = path;
+            this.encodedServerToken = null;
+        }
+    }
+
+    Endpoint endpoint() {
+        return endpoint;
+    }
+
+    TypeAdapter<T> adapter() {
+        return adapter;
+    }
+
+    /**
+     * @return The shared URL for calls without parameters.
+     */
+    HttpUrl url() {
+        return url;
+    }
+
+    HttpUrl withPathSegment(String segment) {
+        return path.newBuilder().addPathSegment(segment).build();
+    }
+
+    HttpUrl withQueryParameter(String name, String value) {
+        return query().addQueryParameter(name, value).build();
+    }
+
+    HttpUrl withQueryParameters(String name1, String value1, String name2, String value2) {
+        return query().addQueryParameter(name1, value1).addQueryParameter(name2, value2).build();
+    }
+
+    Request request(HttpUrl url, CallContext context) {
+        return new Request.Builder().url(url).headers(headers).tag(CallContext.class, context).build();
+    }
+
+    // Starting from the query-less path skips re-parsing the token; it is appended already encoded.
+    private HttpUrl.Builder query() {
+        HttpUrl.Builder builder = path.newBuilder();
+        return encodedServerToken != null ? builder.addEncodedQueryParameter("server_token", encodedServerToken) : builder;
+    }
+}
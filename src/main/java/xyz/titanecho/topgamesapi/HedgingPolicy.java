@@ -0,0 +1,310 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second copy of a read-only request when the first one is slow, and uses whichever answers first.
+ * <p>
+ * The hedge delay is a latency quantile of the endpoint's recent attempts, read from a {@link Histogram}
+ * and recomputed every {@value #RECOMPUTE_EVERY} samples; until {@value #MIN_SAMPLES} attempts are
+ * recorded, nothing is hedged. Hedges are paid for from a budget: every eligible attempt earns
+ * {@code maxExtraLoad} of a token, a hedge spends one, and at most {@value #MAX_TOKENS} tokens are kept,
+ * so hedges add at most that share of requests on top of a short burst. A hedge also needs a rate limit
+ * permit that is available right away; it never waits for one.
+ * <p>
+ * The first successful response wins and the other call is cancelled. If both fail, the caller sees the
+ * primary's outcome. Hedges are not retried themselves; retries apply to the pair.
+ */
+final class HedgingPolicy {
+    private static final Logger log = LoggerFactory.getLogger(HedgingPolicy.class);
+    private static final int MIN_SAMPLES = 50;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final long MAX_TOKENS = 10;
+    private static final long TOKEN = 1_000_000;
+
+    private final double quantile;
+    private final long earnPerAttempt;
+    private final RateLimitInterceptor rateLimiter;
+    private final Histogram[] latencies = new Histogram[Endpoint.values().length];
+    private final AtomicLongArray samples = new AtomicLongArray(Endpoint.values().length);
+    private final AtomicLongArray delays = new AtomicLongArray(Endpoint.values().length);
+    private final AtomicLong tokens = new AtomicLong();
+
+    HedgingPolicy(double quantile, double maxExtraLoad, RateLimitInterceptor rateLimiter) {
+        if (!(quantile > 0 && quantile < 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (!(maxExtraLoad > 0 && maxExtraLoad <= 1)) {
+            throw new IllegalArgumentException("Extra load must be in (0, 1]");
+        }
+        this.quantile = quantile;
+        this.earnPerAttempt = Math.max(1, (long) (maxExtraLoad * TOKEN));
+        this.rateLimiter = rateLimiter;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new Histogram();
+            delays.set(i, -1);
+        }
+    }
+
+    boolean applies(Endpoint endpoint) {
+        return endpoint.isReadOnly();
+    }
+
+    /**
+     * @return the current hedge delay for the endpoint, or {@code -1} while too few samples are recorded.
+     */
+    long delayNanos(Endpoint endpoint) {
+        return delays.get(endpoint.ordinal());
+    }
+
+    private void record(Endpoint endpoint, long latencyNanos) {
+        int i = endpoint.ordinal();
+        latencies[i].record(latencyNanos);
+        long count = samples.incrementAndGet(i);
+        if (count == MIN_SAMPLES || (count > MIN_SAMPLES && count % RECOMPUTE_EVERY == 0)) {
+            delays.set(i, Histogram.valueAt(latencies[i].snapshot(), quantile));
+        }
+    }
+
+    private void earn() {
+        long balance;
+        do {
+            balance = tokens.get();
+            if (balance >= MAX_TOKENS * TOKEN) {
+                return;
+            }
+        } while (!tokens.compareAndSet(balance, Math.min(MAX_TOKENS * TOKEN, balance + earnPerAttempt)));
+    }
+
+    private boolean trySpend() {
+        long balance;
+        do {
+            balance = tokens.get();
+            if (balance < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(balance, balance - TOKEN));
+        if (rateLimiter != null && !rateLimiter.tryAcquire()) {
+            tokens.addAndGet(TOKEN);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Executes the primary call, racing it with a hedge if it is slow, and blocks until the race is decided.
+     * The primary runs on the dispatcher rather than the calling thread, so a hedge that answers first is
+     * returned right away instead of once the cancelled primary has unwound.
+     *
+     * @param hedgeRequest creates the hedge's request, tagged with its own {@link CallContext}.
+     */
+    Response execute(OkHttpClient client, Call primary, Endpoint endpoint, Supplier<Request> hedgeRequest)
+            throws IOException {
+        CompletableFuture<Response> outcome = new CompletableFuture<>();
+        Race race = start(client, primary, endpoint, hedgeRequest, new Callback() {
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                outcome.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                outcome.complete(response);
+            }
+        });
+        primary.enqueue(race);
+        try {
+            return outcome.get();
+        } catch (InterruptedException e) {
+            race.cancel();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a hedged request");
+        } catch (ExecutionException e) {
+            throw (IOException) e.getCause();
+        }
+    }
+
+    /**
+     * Enqueues the primary call, racing it with a hedge if it is slow. {@code callback} gets one outcome.
+     *
+     * @return cancels the primary and the hedge; {@code callback} still gets the resulting failure.
+     */
+    Runnable enqueue(OkHttpClient client, Call primary, Endpoint endpoint, Supplier<Request> hedgeRequest,
+                     Callback callback) {
+        Race race = start(client, primary, endpoint, hedgeRequest, callback);
+        primary.enqueue(race);
+        return race::cancel;
+    }
+
+    private Race start(OkHttpClient client, Call primary, Endpoint endpoint, Supplier<Request> hedgeRequest,
+                       Callback callback) {
+        earn();
+        Race race = new Race(primary, endpoint, callback);
+        long delay = delayNanos(endpoint);
+        if (delay >= 0) {
+            race.timer = AsyncCall.schedule(delay, () -> race.hedge(client, hedgeRequest));
+        }
+        return race;
+    }
+
+    /**
+     * The state of one primary call and its optional hedge. Delivers the first successful response, or
+     * the primary's outcome once every started call has finished.
+     */
+    private final class Race implements Callback {
+        private final Call primary;
+        private final Endpoint endpoint;
+        private final Callback callback;
+        private final long startNanos = System.nanoTime();
+        private volatile ScheduledFuture<?> timer;
+        private Call hedge;
+        private int pending = 1;
+        private boolean delivered;
+        private boolean cancelled;
+        private Response primaryResponse;
+        private IOException primaryFailure;
+
+        Race(Call primary, Endpoint endpoint, Callback callback) {
+            this.primary = primary;
+            this.endpoint = endpoint;
+            this.callback = callback;
+        }
+
+        void hedge(OkHttpClient client, Supplier<Request> hedgeRequest) {
+            Call call;
+            synchronized (this) {
+                if (delivered || cancelled || pending == 0 || hedge != null || !trySpend()) {
+                    return;
+                }
+                Request request = hedgeRequest.get();
+                call = client.newCall(request);
+                hedge = call;
+                pending++;
+                CallContext context = request.tag(CallContext.class);
+                if (context != null) {
+                    context.metrics().hedged(endpoint);
+                }
+            }
+            log.debug("No response from {} after {}ms. Sending a hedged request.", endpoint,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            call.enqueue(this);
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            stopTimer();
+            primary.cancel();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+        }
+
+        @Override
+        public void onResponse(@NotNull Call call, @NotNull Response response) {
+            if (call == primary) {
+                record(endpoint, System.nanoTime() - startNanos);
+            }
+            Call loser;
+            synchronized (this) {
+                pending--;
+                if (delivered) {
+                    response.close();
+                    return;
+                }
+                if (!response.isSuccessful()) {
+                    if (call == primary) {
+                        primaryResponse = response;
+                    } else {
+                        response.close();
+                    }
+                    if (pending > 0) {
+                        return;
+                    }
+                    delivered = true;
+                    loser = null;
+                } else {
+                    delivered = true;
+                    loser = call == primary ? hedge : primary;
+                    if (primaryResponse != null && call != primary) {
+                        primaryResponse.close();
+                    }
+                    primaryResponse = null;
+                    primaryFailure = null;
+                }
+            }
+            stopTimer();
+            if (loser != null) {
+                loser.cancel();
+            }
+            if (response.isSuccessful()) {
+                deliver(call, response);
+            } else {
+                deliverPrimary();
+            }
+        }
+
+        @Override
+        public void onFailure(@NotNull Call call, @NotNull IOException e) {
+            if (call == primary) {
+                // Includes primaries cancelled because the hedge won, as a lower bound of their latency.
+                record(endpoint, System.nanoTime() - startNanos);
+            }
+            synchronized (this) {
+                pending--;
+                if (call == primary) {
+                    primaryFailure = e;
+                }
+                if (delivered || pending > 0) {
+                    return;
+                }
+                delivered = true;
+            }
+            stopTimer();
+            deliverPrimary();
+        }
+
+        /**
+         * Drops the pending hedge, and with it the timer's reference to this race, once the race is decided.
+         */
+        private void stopTimer() {
+            ScheduledFuture<?> scheduled = timer;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+
+        private void deliverPrimary() {
+            if (primaryResponse != null) {
+                deliver(primary, primaryResponse);
+            } else {
+                callback.onFailure(primary, primaryFailure);
+            }
+        }
+
+        private void deliver(Call call, Response response) {
+            try {
+                callback.onResponse(call, response);
+            } catch (IOException e) {
+                response.close();
+                log.warn("Callback failed for {}", endpoint, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package xyz.titanecho.topgamesapi;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, lock-free histogram of non-negative longs with HDR-style log-linear buckets.
+ * <p>
+ * Each power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so a recorded value is
+ * off by at most 1/{@value #SUB_BUCKETS} (about 6%) when read back as a percentile. All buckets are
+ * allocated up front; recording is a bit scan and an atomic increment and never allocates.
+ * Values above {@value #MAX_VALUE} (about 18 minutes in nanoseconds) land in the last bucket.
+ */
+final class Histogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final long MAX_VALUE = (1L << 40) - 1;
+    static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    void record(long value) {
+        counts.incrementAndGet(indexOf(Math.min(Math.max(value, 0), MAX_VALUE)));
+    }
+
+    /**
+     * @return A copy of the bucket counts. Concurrent recordings may or may not be included.
+     */
+    long[] snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return The largest value that maps to the given bucket.
+     */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Returns the value at the given quantile of a {@link #snapshot()}, as the upper bound of its bucket.
+     *
+     * @param quantile a value between 0 and 1, e.g. {@code 0.99}.
+     * @return The value, or 0 if nothing was recorded.
+     */
+    static long valueAt(long[] counts, double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length - 1);
+    }
+}
@@ -0,0 +1,271 @@
+package xyz.titanecho.topgamesapi;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import okhttp3.Call;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A cold {@link Flow.Publisher} over the elements of a JSON array in one or more API responses.
+ * <p>
+ * Each subscription sends its own requests. Elements are decoded one at a time straight from the response
+ * body, and only while the subscriber has outstanding demand, so an idle subscriber leaves the rest of the
+ * body unread on the socket. For paginated endpoints, the next page is requested only once the current one
+ * is used up and more elements are demanded; a short page ends the stream.
+ * <p>
+ * Reading blocks, so signals are emitted from a drain loop on the given executor. At most one drain runs
+ * per subscription, which keeps signals serial as the Reactive Streams rules require. If the executor
+ * rejects the drain, because the client was closed, the subscriber receives {@code onError} instead.
+ * Cancelling a subscription also cancels its in-flight call, so a drain blocked on the network ends
+ * promptly and releases its thread and connection.
+ */
+final class JsonArrayPublisher<T> implements Flow.Publisher<T> {
+    private static final Logger log = LoggerFactory.getLogger(JsonArrayPublisher.class);
+
+    @FunctionalInterface
+    interface PageOpener {
+        /**
+         * Sends the request for the given page and returns the successful response with its body unread.
+         *
+         * @param started notified of the call before it is sent, so that it can be cancelled.
+         */
+        Response open(int page, Consumer<Call> started) throws TopGamesException;
+    }
+
+    private final PageOpener pages;
+    private final int pageSize;
+    private final String field;
+    private final TypeAdapter<T> adapter;
+    private final JsonCodec codec;
+    private final Executor executor;
+
+    /**
+     * @param pageSize the page size of a paginated endpoint, or {@code 0} for a single response.
+     * @param field    the field of the response envelope holding the array, or {@code null} if the body is the array.
+     */
+    JsonArrayPublisher(PageOpener pages, int pageSize, String field, TypeAdapter<T> adapter, JsonCodec codec,
+                       Executor executor) {
+        if (pageSize < 0) {
+            throw new IllegalArgumentException("Page size must not be negative");
+        }
+        this.pages = pages;
+        this.pageSize = pageSize;
+        this.field = field;
+        this.adapter = adapter;
+        this.codec = codec;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber must not be null");
+        Subscription subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private volatile Call call;
+        private boolean done;
+        private int page;
+        private int pageCount;
+        private Response response;
+        private JsonReader reader;
+
+        Subscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Demand must be positive, was " + n);
+            } else {
+                requested.accumulateAndGet(n, (current, added) -> {
+                    long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            // Unblocks a drain waiting for headers or reading the body; it then sees the flag and stops.
+            Call current = call;
+            if (current != null) {
+                current.cancel();
+            }
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drainLoop);
+                } catch (RejectedExecutionException e) {
+                    // The client was closed. No drain is running, so this thread may signal.
+                    if (!done && !cancelled) {
+                        finish(new TopGamesException("Client is closed", e));
+                    }
+                    done = true;
+                    wip.set(0);
+                }
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            while (true) {
+                emit();
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void emit() {
+            if (done) {
+                return;
+            }
+            try {
+                while (!cancelled && invalidRequest == null && requested.get() > 0) {
+                    if (!advance()) {
+                        finish(null);
+                        return;
+                    }
+                    T element = adapter.read(reader);
+                    pageCount++;
+                    if (requested.get() != Long.MAX_VALUE) {
+                        requested.decrementAndGet();
+                    }
+                    if (!deliver(element)) {
+                        return;
+                    }
+                }
+                if (cancelled) {
+                    done = true;
+                    closeResponse();
+                } else if (invalidRequest != null) {
+                    finish(invalidRequest);
+                }
+            } catch (TopGamesException e) {
+                finish(e);
+            } catch (MalformedJsonException | JsonParseException | IllegalStateException | NumberFormatException e) {
+                finish(new TopGamesException("Failed to parse JSON response", e));
+            } catch (IOException e) {
+                finish(new TopGamesException("Network error occurred", e));
+            }
+        }
+
+        /**
+         * @return {@code false} if the subscriber threw, which cancels the subscription.
+         */
+        private boolean deliver(T element) {
+            try {
+                subscriber.onNext(element);
+                return true;
+            } catch (RuntimeException e) {
+                log.error("Subscriber failed while receiving an element", e);
+                cancelled = true;
+                done = true;
+                closeResponse();
+                return false;
+            }
+        }
+
+        /**
+         * Positions the reader at the next element, opening the next page if needed.
+         *
+         * @return {@code false} once there are no more elements.
+         */
+        private boolean advance() throws TopGamesException, IOException {
+            while (true) {
+                if (reader != null && reader.hasNext()) {
+                    return true;
+                }
+                if (reader != null) {
+                    boolean lastPage = pageSize == 0 || pageCount < pageSize;
+                    closeResponse();
+                    if (lastPage) {
+                        return false;
+                    }
+                }
+                if (!open()) {
+                    return false;
+                }
+            }
+        }
+
+        private boolean open() throws TopGamesException, IOException {
+            response = pages.open(page++, this::started);
+            pageCount = 0;
+            reader = codec.gson().newJsonReader(response.body().charStream());
+            if (field == null) {
+                reader.beginArray();
+                return true;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals(field) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    return true;
+                }
+                reader.skipValue();
+            }
+            // No array in the envelope: nothing to emit.
+            closeResponse();
+            return false;
+        }
+
+        private void started(Call started) {
+            call = started;
+            if (cancelled) {
+                started.cancel();
+            }
+        }
+
+        private void finish(Throwable error) {
+            done = true;
+            closeResponse();
+            if (cancelled) {
+                // The failure is most likely the cancelled call itself; a cancelled subscriber gets no signal.
+                return;
+            }
+            if (error != null) {
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+
+        private void closeResponse() {
+            if (response != null) {
+                response.close();
+                response = null;
+            }
+            reader = null;
+            call = null;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package xyz.titanecho.topgamesapi;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes response bodies straight from the network stream.
+ * Bodies are never buffered into an intermediate {@link String}; Gson pulls tokens from the body's
+ * character stream as it binds them.
+ */
+final class JsonCodec {
+    /**
+     * UTF-8 bodies up to this size are decoded one code point at a time from the body's source.
+     * {@link ResponseBody#charStream()} allocates an 8 KiB decoding buffer, which dwarfs the short responses
+     * of vote checks and claims.
+     */
+    static final long SMALL_BODY_BYTES = 2048;
+
+    private final Gson gson;
+
+    JsonCodec(Gson gson) {
+        this.gson = gson;
+    }
+
+    Gson gson() {
+        return gson;
+    }
+
+    /**
+     * Decodes the given body into an instance of {@code typeOfT}.
+     * An empty body decodes to {@code null}, matching {@link Gson#fromJson(String, Type)}.
+     *
+     * @throws JsonSyntaxException if the body is not valid JSON for the requested type.
+     * @throws IOException         if reading from the network fails.
+     */
+    <T> T decode(ResponseBody body, Type typeOfT) throws IOException {
+        @SuppressWarnings("unchecked")
+        TypeAdapter<T> adapter = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(typeOfT));
+        return decode(body, adapter);
+    }
+
+    /**
+     * Decodes the given body with an adapter obtained from {@link #gson()} ahead of time,
+     * skipping the per-call adapter lookup.
+     *
+     * @see #decode(ResponseBody, Type)
+     */
+    <T> T decode(ResponseBody body, TypeAdapter<T> adapter) throws IOException {
+        try (JsonReader reader = gson.newJsonReader(reader(body))) {
+            reader.setLenient(true);
+            try {
+                reader.peek();
+            } catch (EOFException e) {
+                return null;
+            }
+            return adapter.read(reader);
+        } catch (EOFException | MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            // The body ended cleanly but the document is incomplete or malformed: a syntax error, not a network one.
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static Reader reader(ResponseBody body) {
+        long length = body.contentLength();
+        MediaType contentType = body.contentType();
+        Charset charset = contentType != null ? contentType.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+        if (length >= 0 && length <= SMALL_BODY_BYTES && charset.equals(StandardCharsets.UTF_8)) {
+            return new Utf8Reader(body.source());
+        }
+        return body.charStream();
+    }
+
+    /**
+     * Decodes UTF-8 straight from a buffered source, without a buffer of its own. Malformed sequences decode
+     * to U+FFFD, as with {@link ResponseBody#charStream()}; a byte order mark is left to {@link JsonReader}.
+     */
+    private static final class Utf8Reader extends Reader {
+        private final BufferedSource source;
+        private char pendingLowSurrogate;
+
+        Utf8Reader(BufferedSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            int count = 0;
+            if (pendingLowSurrogate != 0) {
+                buffer[offset + count++] = pendingLowSurrogate;
+                pendingLowSurrogate = 0;
+            }
+            while (count < length && !source.exhausted()) {
+                int codePoint = source.readUtf8CodePoint();
+                if (Character.isBmpCodePoint(codePoint)) {
+                    buffer[offset + count++] = (char) codePoint;
+                    continue;
+                }
+                buffer[offset + count++] = Character.highSurrogate(codePoint);
+                if (count < length) {
+                    buffer[offset + count++] = Character.lowSurrogate(codePoint);
+                } else {
+                    pendingLowSurrogate = Character.lowSurrogate(codePoint);
+                }
+            }
+            return count == 0 ? -1 : count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package xyz.titanecho.topgamesapi;
+
+import xyz.titanecho.topgamesapi.model.PlayerRanking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable player ranking stored as columns: one username array and one {@code int} vote array,
+ * sorted once by votes (highest first, ties in API order).
+ * <p>
+ * Compared to {@code List<PlayerRanking>} it holds no object per player, and usernames decoded by the
+ * same client are shared across snapshots, so keeping several ranking types for tens of thousands of
+ * players in memory costs little more than the names themselves. A second index sorted by username
+ * gives {@link #rankOf(String)} in O(log n) and {@link #diff(Leaderboard)} in linear time.
+ * <p>
+ * Ranks are 1-based.
+ *
+ * @see TopGamesClient#getPlayersLeaderboard(String)
+ */
+public final class Leaderboard {
+    private final String[] usernames;
+    private final int[] votes;
+    private final int size;
+    // Ranks minus one, ordered by username.
+    private final int[] byName;
+
+    private Leaderboard(String[] usernames, int[] votes, int size, int[] byName) {
+        this.usernames = usernames;
+        this.votes = votes;
+        this.size = size;
+        this.byName = byName;
+    }
+
+    /**
+     * @return The number of ranked players.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param rank a rank between 1 and {@link #size()}.
+     */
+    public String getUsername(int rank) {
+        return usernames[index(rank)];
+    }
+
+    /**
+     * @param rank a rank between 1 and {@link #size()}.
+     */
+    public int getVotes(int rank) {
+        return votes[index(rank)];
+    }
+
+    /**
+     * @return The rank of the player, or {@code 0} if the player is not ranked.
+     */
+    public int rankOf(String username) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(usernames[byName[mid]], username);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return byName[mid] + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return The votes of the player, or {@code 0} if the player is not ranked.
+     */
+    public int votesOf(String username) {
+        int rank = rankOf(username);
+        return rank > 0 ? votes[rank - 1] : 0;
+    }
+
+    /**
+     * Returns the first {@code k} players. The slice shares this leaderboard's columns.
+     */
+    public Leaderboard top(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        if (k >= size) {
+            return this;
+        }
+        int[] sliceByName = new int[k];
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (byName[i] < k) {
+                sliceByName[next++] = byName[i];
+            }
+        }
+        return new Leaderboard(usernames, votes, k, sliceByName);
+    }
+
+    /**
+     * Compares this leaderboard with an older snapshot of the same ranking.
+     *
+     * @return The players whose rank or votes changed, in current rank order, followed by the players that
+     * are no longer ranked, in their previous rank order.
+     */
+    public List<Change> diff(Leaderboard previous) {
+        int[] previousRanks = new int[size];
+        boolean[] kept = new boolean[previous.size];
+        int i = 0;
+        int j = 0;
+        while (i < size && j < previous.size) {
+            int current = byName[i];
+            int old = previous.byName[j];
+            int cmp = compare(usernames[current], previous.usernames[old]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                previousRanks[current] = old + 1;
+                kept[old] = true;
+                i++;
+                j++;
+            }
+        }
+
+        List<Change> changes = new ArrayList<>();
+        for (int rank = 1; rank <= size; rank++) {
+            int previousRank = previousRanks[rank - 1];
+            int previousVotes = previousRank > 0 ? previous.votes[previousRank - 1] : 0;
+            if (previousRank != rank || previousVotes != votes[rank - 1]) {
+                changes.add(new Change(usernames[rank - 1], rank, previousRank, votes[rank - 1], previousVotes));
+            }
+        }
+        for (int old = 0; old < previous.size; old++) {
+            if (!kept[old]) {
+                changes.add(new Change(previous.usernames[old], 0, old + 1, 0, previous.votes[old]));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * @return The ranking as model objects, for code written against {@link TopGamesClient#getPlayersRanking(String)}.
+     */
+    public List<PlayerRanking> toList() {
+        List<PlayerRanking> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            PlayerRanking ranking = new PlayerRanking();
+            ranking.setUsername(usernames[i]);
+            ranking.setVotes(votes[i]);
+            list.add(ranking);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public String toString() {
+        return "Leaderboard{size=" + size + '}';
+    }
+
+    private int index(int rank) {
+        if (rank < 1 || rank > size) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " is outside 1.." + size);
+        }
+        return rank - 1;
+    }
+
+    private static int compare(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    /**
+     * A player whose rank or votes differ between two snapshots. A rank of {@code 0} means the player is
+     * not ranked in that snapshot.
+     */
+    public static final class Change {
+        private final String username;
+        private final int rank;
+        private final int previousRank;
+        private final int votes;
+        private final int previousVotes;
+
+        Change(String username, int rank, int previousRank, int votes, int previousVotes) {
+            this.username = username;
+            this.rank = rank;
+            this.previousRank = previousRank;
+            this.votes = votes;
+            this.previousVotes = previousVotes;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public int getPreviousRank() {
+            return previousRank;
+        }
+
+        public int getVotes() {
+            return votes;
+        }
+
+        public int getPreviousVotes() {
+            return previousVotes;
+        }
+
+        /**
+         * @return {@code true} if the player was not ranked in the previous snapshot.
+         */
+        public boolean isNew() {
+            return previousRank == 0;
+        }
+
+        /**
+         * @return {@code true} if the player is no longer ranked.
+         */
+        public boolean isDropped() {
+            return rank == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Change{username=" + username + ", rank=" + previousRank + "->" + rank
+                    + ", votes=" + previousVotes + "->" + votes + '}';
+        }
+    }
+
+    /**
+     * Collects players in API order, then sorts them once.
+     */
+    static final class Builder {
+        private String[] usernames = new String[16];
+        private int[] votes = new int[16];
+        private int size;
+
+        void add(String username, int playerVotes) {
+            if (size == usernames.length) {
+                usernames = Arrays.copyOf(usernames, size * 2);
+                votes = Arrays.copyOf(votes, size * 2);
+            }
+            usernames[size] = username;
+            votes[size] = playerVotes;
+            size++;
+        }
+
+        Leaderboard build() {
+            String[] sortedNames = usernames.length == size ? usernames : Arrays.copyOf(usernames, size);
+            int[] sortedVotes = votes.length == size ? votes : Arrays.copyOf(votes, size);
+            if (!isSortedByVotes()) {
+                sortedNames = new String[size];
+                sortedVotes = new int[size];
+                // High half: the inverted votes, so ascending order is highest first. Low half: the API
+                // position, which keeps ties stable.
+                long[] keys = new long[size];
+                for (int i = 0; i < size; i++) {
+                    keys[i] = ((long) ~votes[i] << 32) | i;
+                }
+                Arrays.sort(keys);
+                for (int i = 0; i < size; i++) {
+                    int from = (int) keys[i];
+                    sortedNames[i] = usernames[from];
+                    sortedVotes[i] = votes[from];
+                }
+            }
+            int[] byName = new int[size];
+            for (int i = 0; i < size; i++) {
+                byName[i] = i;
+            }
+            sortByName(byName, new int[size], 0, size, sortedNames);
+            return new Leaderboard(sortedNames, sortedVotes, size, byName);
+        }
+
+        private boolean isSortedByVotes() {
+            for (int i = 1; i < size; i++) {
+                if (votes[i] > votes[i - 1]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Merge sort over rank indices, so the index is built without boxing.
+        private static void sortByName(int[] ranks, int[] scratch, int from, int to, String[] names) {
+            if (to - from < 2) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            sortByName(ranks, scratch, from, mid, names);
+            sortByName(ranks, scratch, mid, to, names);
+            if (compare(names[ranks[mid - 1]], names[ranks[mid]]) <= 0) {
+                return;
+            }
+            System.arraycopy(ranks, from, scratch, from, to - from);
+            int left = from;
+            int right = mid;
+            for (int out = from; out < to; out++) {
+                if (right >= to || (left < mid && compare(names[scratch[left]], names[scratch[right]]) <= 0)) {
+                    ranks[out] = scratch[left++];
+                } else {
+                    ranks[out] = scratch[right++];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.ConnectionPool;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives measurements for every HTTP call made by a {@link TopGamesClient}.
+ * <p>
+ * Methods are called on the thread that made the observation, often an OkHttp dispatcher thread, and must
+ * be cheap and non-blocking. All methods default to doing nothing, so implementations only override what
+ * they record. {@link ClientMetrics} is a dependency-free implementation, and
+ * {@code xyz.titanecho.topgamesapi.micrometer.MicrometerMetricsListener} binds to a Micrometer registry.
+ *
+ * @see TopGamesClient.Builder#metricsListener(MetricsListener)
+ */
+public interface MetricsListener {
+    /**
+     * A listener that records nothing. Used when no listener is configured.
+     */
+    MetricsListener NONE = new MetricsListener() {
+    };
+
+    /**
+     * Called once when the client is built, so gauges can read the connection pool's size.
+     */
+    default void bindConnectionPool(@NotNull ConnectionPool connectionPool) {
+    }
+
+    /**
+     * Called when a call completes, after all retries and after decoding.
+     *
+     * @param latencyNanos the time from the client method being called to the result being available.
+     * @param success      whether the call produced a result rather than an exception.
+     */
+    default void callCompleted(@NotNull Endpoint endpoint, long latencyNanos, boolean success) {
+    }
+
+    /**
+     * Called each time a failed attempt is scheduled to be retried.
+     */
+    default void retried(@NotNull Endpoint endpoint) {
+    }
+
+    /**
+     * Called each time a hedge, a second copy of a slow attempt, is sent.
+     */
+    default void hedged(@NotNull Endpoint endpoint) {
+    }
+
+    /**
+     * Called when the request scheduler admits an attempt, with the time it waited in its priority lane.
+     */
+    default void queueWaited(@NotNull Priority priority, long waitNanos) {
+    }
+
+    /**
+     * Called when an attempt had to wait for a rate limit permit.
+     */
+    default void rateLimitWaited(@NotNull Endpoint endpoint, long waitNanos) {
+    }
+
+    /**
+     * Called for each successful response that was decoded.
+     *
+     * @param bodyBytes   the number of body bytes read.
+     * @param decodeNanos the time spent decoding. The body is decoded as it streams in, so this includes reading it.
+     * @param fromCache   whether the response was served by the OkHttp disk cache without a network request.
+     */
+    default void responseDecoded(@NotNull Endpoint endpoint, long bodyBytes, long decodeNanos, boolean fromCache) {
+    }
+
+    /**
+     * Called when an attempt is rejected without being sent, by the circuit breaker or the concurrency limit.
+     */
+    default void callRejected(@NotNull Endpoint endpoint) {
+    }
+
+    /**
+     * Called when the circuit breaker changes state.
+     */
+    default void circuitStateChanged(@NotNull CircuitState state) {
+    }
+
+    /**
+     * Called when the adaptive concurrency limit changes.
+     */
+    default void concurrencyLimitChanged(int limit) {
+    }
+}
@@ -0,0 +1,457 @@
+package xyz.titanecho.topgamesapi;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import xyz.titanecho.topgamesapi.model.Game;
+import xyz.titanecho.topgamesapi.model.PlayerRanking;
+import xyz.titanecho.topgamesapi.model.Server;
+import xyz.titanecho.topgamesapi.model.Stat;
+import xyz.titanecho.topgamesapi.model.Vote;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hand-written Gson adapters for the model classes and the {@link TopGamesClient.ApiResponse} envelope.
+ * <p>
+ * They bind fields through a {@code switch} on the JSON name and the models' setters instead of
+ * reflection, and skip unknown fields with {@link JsonReader#skipValue()} without building them.
+ * The envelope decodes its payload straight into the requested type; when only the status is needed
+ * ({@code ApiResponse<Object>}), the payload is skipped as well.
+ * <p>
+ * A {@link Leaderboard} is filled straight from the {@code players} array, without a {@link PlayerRanking}
+ * per player. Its usernames go through a per-client dictionary, so snapshots share one copy of each name.
+ * {@link StatColumns} are filled the same way from the {@code stats} array.
+ * <p>
+ * Lenient in the same ways as Gson's reflective binding: {@code null} leaves the default value, numbers
+ * may be quoted, and numbers and booleans are accepted where a string is expected.
+ */
+final class ModelAdapters implements TypeAdapterFactory {
+    private static final TypeToken<List<Stat>> STAT_LIST = new TypeToken<>() {};
+    // Past this many distinct names, new names are kept as decoded instead of growing the dictionary.
+    private static final int MAX_DICTIONARY_SIZE = 1 << 17;
+
+    private final Map<String, String> usernames = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> raw = type.getRawType();
+        if (raw == Vote.class) {
+            return (TypeAdapter<T>) new VoteAdapter().nullSafe();
+        }
+        if (raw == Game.class) {
+            return (TypeAdapter<T>) new GameAdapter().nullSafe();
+        }
+        if (raw == Stat.class) {
+            return (TypeAdapter<T>) new StatAdapter().nullSafe();
+        }
+        if (raw == PlayerRanking.class) {
+            return (TypeAdapter<T>) new PlayerRankingAdapter().nullSafe();
+        }
+        if (raw == Leaderboard.class) {
+            return (TypeAdapter<T>) new LeaderboardAdapter(usernames).nullSafe();
+        }
+        if (raw == StatColumns.class) {
+            return (TypeAdapter<T>) new StatColumnsAdapter().nullSafe();
+        }
+        if (raw == Server.class) {
+            return (TypeAdapter<T>) new ServerAdapter(gson.getAdapter(STAT_LIST)).nullSafe();
+        }
+        if (raw == TopGamesClient.ApiResponse.class) {
+            Type payload = type.getType() instanceof ParameterizedType parameterized
+                    ? parameterized.getActualTypeArguments()[0] : Object.class;
+            TypeAdapter<?> payloadAdapter = payload == Object.class ? null : gson.getAdapter(TypeToken.get(payload));
+            return (TypeAdapter<T>) new ApiResponseAdapter<>(payloadAdapter).nullSafe();
+        }
+        return null;
+    }
+
+    static final class ApiResponseAdapter<T> extends TypeAdapter<TopGamesClient.ApiResponse<T>> {
+        private final TypeAdapter<T> payload;
+
+        /**
+         * @param payload the payload adapter, or {@code null} to skip the payload.
+         */
+        ApiResponseAdapter(TypeAdapter<T> payload) {
+            this.payload = payload;
+        }
+
+        @Override
+        public TopGamesClient.ApiResponse<T> read(JsonReader in) throws IOException {
+            int code = 0;
+            boolean success = false;
+            String message = null;
+            T votes = null;
+            T server = null;
+            T stats = null;
+            T players = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "code" -> code = nextInt(in);
+                    case "success" -> success = nextBoolean(in);
+                    case "message" -> message = nextString(in);
+                    case "votes" -> votes = nextPayload(in);
+                    case "server" -> server = nextPayload(in);
+                    case "stats" -> stats = nextPayload(in);
+                    case "players" -> players = nextPayload(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new TopGamesClient.ApiResponse<>(code, success, message, votes, server, stats, players);
+        }
+
+        private T nextPayload(JsonReader in) throws IOException {
+            if (payload == null) {
+                in.skipValue();
+                return null;
+            }
+            return payload.read(in);
+        }
+
+        @Override
+        public void write(JsonWriter out, TopGamesClient.ApiResponse<T> value) throws IOException {
+            out.beginObject();
+            out.name("code").value(value.code);
+            out.name("success").value(value.success);
+            out.name("message").value(value.message);
+            if (payload != null) {
+                writePayload(out, "votes", value.votes);
+                writePayload(out, "server", value.server);
+                writePayload(out, "stats", value.stats);
+                writePayload(out, "players", value.players);
+            }
+            out.endObject();
+        }
+
+        private void writePayload(JsonWriter out, String name, T value) throws IOException {
+            if (value != null) {
+                out.name(name);
+                payload.write(out, value);
+            }
+        }
+    }
+
+    static final class VoteAdapter extends TypeAdapter<Vote> {
+        @Override
+        public Vote read(JsonReader in) throws IOException {
+            Vote vote = new Vote();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> vote.setId(nextString(in));
+                    case "username" -> vote.setUsername(nextString(in));
+                    case "created_at" -> vote.setCreatedAt(nextString(in));
+                    case "claimed" -> vote.setClaimed(nextBoolean(in));
+                    case "ip_address" -> vote.setIpAddress(nextString(in));
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return vote;
+        }
+
+        @Override
+        public void write(JsonWriter out, Vote value) throws IOException {
+            out.beginObject();
+            out.name("id").value(value.getId());
+            out.name("username").value(value.getUsername());
+            out.name("created_at").value(value.getCreatedAt());
+            out.name("claimed").value(value.isClaimed());
+            out.name("ip_address").value(value.getIpAddress());
+            out.endObject();
+        }
+    }
+
+    static final class GameAdapter extends TypeAdapter<Game> {
+        @Override
+        public Game read(JsonReader in) throws IOException {
+            Game game = new Game();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> game.setId(nextString(in));
+                    case "name" -> game.setName(nextString(in));
+                    case "rank" -> game.setRank(nextInt(in));
+                    case "publisher" -> game.setPublisher(nextString(in));
+                    case "score" -> game.setScore(nextDouble(in));
+                    case "cover_image_url" -> game.setCoverImageUrl(nextString(in));
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return game;
+        }
+
+        @Override
+        public void write(JsonWriter out, Game value) throws IOException {
+            out.beginObject();
+            out.name("id").value(value.getId());
+            out.name("name").value(value.getName());
+            out.name("rank").value(value.getRank());
+            out.name("publisher").value(value.getPublisher());
+            out.name("score").value(value.getScore());
+            out.name("cover_image_url").value(value.getCoverImageUrl());
+            out.endObject();
+        }
+    }
+
+    static final class StatAdapter extends TypeAdapter<Stat> {
+        @Override
+        public Stat read(JsonReader in) throws IOException {
+            Stat stat = new Stat();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "date" -> stat.setDate(nextString(in));
+                    case "votes" -> stat.setVotes(nextInt(in));
+                    case "clicks" -> stat.setClicks(nextInt(in));
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return stat;
+        }
+
+        @Override
+        public void write(JsonWriter out, Stat value) throws IOException {
+            out.beginObject();
+            out.name("date").value(value.getDate());
+            out.name("votes").value(value.getVotes());
+            out.name("clicks").value(value.getClicks());
+            out.endObject();
+        }
+    }
+
+    static final class PlayerRankingAdapter extends TypeAdapter<PlayerRanking> {
+        @Override
+        public PlayerRanking read(JsonReader in) throws IOException {
+            PlayerRanking ranking = new PlayerRanking();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "username" -> ranking.setUsername(nextString(in));
+                    case "votes" -> ranking.setVotes(nextInt(in));
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return ranking;
+        }
+
+        @Override
+        public void write(JsonWriter out, PlayerRanking value) throws IOException {
+            out.beginObject();
+            out.name("username").value(value.getUsername());
+            out.name("votes").value(value.getVotes());
+            out.endObject();
+        }
+    }
+
+    static final class LeaderboardAdapter extends TypeAdapter<Leaderboard> {
+        private final Map<String, String> dictionary;
+
+        LeaderboardAdapter(Map<String, String> dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public Leaderboard read(JsonReader in) throws IOException {
+            Leaderboard.Builder builder = new Leaderboard.Builder();
+            in.beginArray();
+            while (in.hasNext()) {
+                String username = null;
+                int votes = 0;
+                in.beginObject();
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "username" -> username = intern(nextString(in));
+                        case "votes" -> votes = nextInt(in);
+                        default -> in.skipValue();
+                    }
+                }
+                in.endObject();
+                builder.add(username, votes);
+            }
+            in.endArray();
+            return builder.build();
+        }
+
+        private String intern(String username) {
+            if (username == null) {
+                return null;
+            }
+            String known = dictionary.get(username);
+            if (known != null) {
+                return known;
+            }
+            if (dictionary.size() >= MAX_DICTIONARY_SIZE) {
+                return username;
+            }
+            known = dictionary.putIfAbsent(username, username);
+            return known != null ? known : username;
+        }
+
+        @Override
+        public void write(JsonWriter out, Leaderboard value) throws IOException {
+            out.beginArray();
+            for (int rank = 1; rank <= value.size(); rank++) {
+                out.beginObject();
+                out.name("username").value(value.getUsername(rank));
+                out.name("votes").value(value.getVotes(rank));
+                out.endObject();
+            }
+            out.endArray();
+        }
+    }
+
+    static final class StatColumnsAdapter extends TypeAdapter<StatColumns> {
+        @Override
+        public StatColumns read(JsonReader in) throws IOException {
+            StatColumns columns = new StatColumns();
+            in.beginArray();
+            while (in.hasNext()) {
+                String date = null;
+                int votes = 0;
+                int clicks = 0;
+                in.beginObject();
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "date" -> date = nextString(in);
+                        case "votes" -> votes = nextInt(in);
+                        case "clicks" -> clicks = nextInt(in);
+                        default -> in.skipValue();
+                    }
+                }
+                in.endObject();
+                columns.add(StatColumns.epochDay(date), votes, clicks);
+            }
+            in.endArray();
+            return columns;
+        }
+
+        @Override
+        public void write(JsonWriter out, StatColumns value) throws IOException {
+            out.beginArray();
+            for (int i = 0; i < value.size; i++) {
+                out.beginObject();
+                out.name("date").value(LocalDate.ofEpochDay(value.days[i]).toString());
+                out.name("votes").value(value.votes[i]);
+                out.name("clicks").value(value.clicks[i]);
+                out.endObject();
+            }
+            out.endArray();
+        }
+    }
+
+    static final class ServerAdapter extends TypeAdapter<Server> {
+        private final TypeAdapter<List<Stat>> stats;
+
+        ServerAdapter(TypeAdapter<List<Stat>> stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public Server read(JsonReader in) throws IOException {
+            Server server = new Server();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> server.setId(nextString(in));
+                    case "name" -> server.setName(nextString(in));
+                    case "description" -> server.setDescription(nextString(in));
+                    case "website" -> server.setWebsite(nextString(in));
+                    case "banner" -> server.setBanner(nextString(in));
+                    case "logo" -> server.setLogo(nextString(in));
+                    case "votes" -> server.setVotes(nextInt(in));
+                    case "clicks" -> server.setClicks(nextInt(in));
+                    case "rank" -> server.setRank(nextInt(in));
+                    case "players_online" -> server.setPlayersOnline(nextInt(in));
+                    case "max_players" -> server.setMaxPlayers(nextInt(in));
+                    case "version" -> server.setVersion(nextString(in));
+                    case "ip" -> server.setIp(nextString(in));
+                    case "port" -> server.setPort(nextInt(in));
+                    case "stats" -> server.setStats(stats.read(in));
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return server;
+        }
+
+        @Override
+        public void write(JsonWriter out, Server value) throws IOException {
+            out.beginObject();
+            out.name("id").value(value.getId());
+            out.name("name").value(value.getName());
+            out.name("description").value(value.getDescription());
+            out.name("website").value(value.getWebsite());
+            out.name("banner").value(value.getBanner());
+            out.name("logo").value(value.getLogo());
+            out.name("votes").value(value.getVotes());
+            out.name("clicks").value(value.getClicks());
+            out.name("rank").value(value.getRank());
+            out.name("players_online").value(value.getPlayersOnline());
+            out.name("max_players").value(value.getMaxPlayers());
+            out.name("version").value(value.getVersion());
+            out.name("ip").value(value.getIp());
+            out.name("port").value(value.getPort());
+            if (value.getStats() != null) {
+                out.name("stats");
+                stats.write(out, value.getStats());
+            }
+            out.endObject();
+        }
+    }
+
+    private static String nextString(JsonReader in) throws IOException {
+        return switch (in.peek()) {
+            case NULL -> {
+                in.nextNull();
+                yield null;
+            }
+            case BOOLEAN -> Boolean.toString(in.nextBoolean());
+            default -> in.nextString();
+        };
+    }
+
+    private static int nextInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextInt();
+    }
+
+    private static double nextDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextDouble();
+    }
+
+    private static boolean nextBoolean(JsonReader in) throws IOException {
+        return switch (in.peek()) {
+            case NULL -> {
+                in.nextNull();
+                yield false;
+            }
+            case STRING -> Boolean.parseBoolean(in.nextString());
+            default -> in.nextBoolean();
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package xyz.titanecho.topgamesapi;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An iterator over an offset-paginated endpoint that fetches pages lazily.
+ * As soon as a full page arrives, the next one is requested in the background, so the
+ * round trip overlaps with consumption of the current page. Iteration ends at the first
+ * short (or empty) page. Only the current page and the one in flight are ever held.
+ * <p>
+ * Failures surface from {@link #hasNext()} as a {@link java.util.concurrent.CompletionException}
+ * wrapping the {@link TopGamesException}.
+ */
+final class PageIterator<T> implements Iterator<T>, AutoCloseable {
+
+    @FunctionalInterface
+    interface PageFetcher<T> {
+        CompletableFuture<List<T>> fetch(int limit, int offset);
+    }
+
+    private final PageFetcher<T> fetcher;
+    private final int pageSize;
+    private List<T> page = List.of();
+    private int index;
+    private int nextOffset;
+    private CompletableFuture<List<T>> pending;
+    private CompletableFuture<List<T>> pendingFetch;
+    private boolean started;
+
+    PageIterator(PageFetcher<T> fetcher, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.fetcher = fetcher;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (index < page.size()) {
+            return true;
+        }
+        if (!started) {
+            started = true;
+            pending = fetchNext();
+        }
+        while (pending != null) {
+            List<T> next = pending.join();
+            pending = next.size() >= pageSize ? fetchNext() : null;
+            page = next;
+            index = 0;
+            if (!page.isEmpty()) {
+                return true;
+            }
+        }
+        page = List.of();
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.get(index++);
+    }
+
+    /**
+     * Abandons the prefetched page, if any, and ends iteration.
+     */
+    @Override
+    public void close() {
+        started = true;
+        page = List.of();
+        if (pending != null) {
+            // Cancel the fetcher's own future: cancelling a dependent stage would not reach the request.
+            pendingFetch.cancel(false);
+            pending = null;
+            pendingFetch = null;
+        }
+    }
+
+    private CompletableFuture<List<T>> fetchNext() {
+        int offset = nextOffset;
+        nextOffset += pageSize;
+        pendingFetch = fetcher.fetch(pageSize, offset);
+        return pendingFetch.thenApply(result -> result != null ? result : List.of());
+    }
+}
@@ -0,0 +1,22 @@
+package xyz.titanecho.topgamesapi;
+
+/**
+ * The priority class of a request, used by the client's request scheduler.
+ *
+ * @see TopGamesClient.Builder#priorityScheduling(int)
+ * @see TopGamesClient.Builder#requestPriority(Endpoint, Priority)
+ */
+public enum Priority {
+    /**
+     * Latency-critical calls made while a player waits, such as vote checks and claims at login.
+     */
+    INTERACTIVE,
+    /**
+     * Regular calls, such as fetching games, server info and unclaimed votes.
+     */
+    NORMAL,
+    /**
+     * Bulk work that can wait, such as stats and ranking crawls.
+     */
+    BACKGROUND
+}
@@ -0,0 +1,228 @@
+package xyz.titanecho.topgamesapi;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Admits attempts to the network by priority class, ahead of OkHttp's dispatcher and the rate limiter.
+ * <p>
+ * Each {@link Priority} has a FIFO lane with a weight and a concurrency cap; the scheduler also caps the
+ * total number of attempts in flight. Free slots and rate limit permits go to lanes in weighted fair order
+ * (start-time fair queueing): every lane carries a virtual finish tag that advances by {@code 1 / weight}
+ * per admitted attempt, and the eligible lane with the lowest tag goes next. A lane that was idle starts
+ * at the current virtual time, so it cannot save up credit, and an interactive attempt arriving behind a
+ * backlog of bulk work is admitted next. Unused capacity goes to whichever lanes have work.
+ * <p>
+ * With a rate limit, an attempt is admitted only together with a permit, which is then marked as prepaid
+ * on its {@link CallContext}. When no permit is available, a timer re-runs admission once one is.
+ * Callbacks of admitted attempts run outside the scheduler's lock.
+ */
+final class PriorityScheduler {
+    private static final Logger log = LoggerFactory.getLogger(PriorityScheduler.class);
+
+    private static final class Lane {
+        final Priority priority;
+        final double increment;
+        final int maxConcurrent;
+        final ArrayDeque<Ticket> queue = new ArrayDeque<>();
+        int inFlight;
+        double finishTag;
+
+        Lane(Priority priority, int weight, int maxConcurrent) {
+            this.priority = priority;
+            this.increment = 1.0 / weight;
+            this.maxConcurrent = maxConcurrent;
+        }
+    }
+
+    private static final class Ticket extends CompletableFuture<Void> {
+        final CallContext context;
+        final Lane lane;
+        final long enqueuedAt = System.nanoTime();
+
+        Ticket(CallContext context, Lane lane) {
+            this.context = context;
+            this.lane = lane;
+        }
+    }
+
+    private final Lane[] lanes = new Lane[Priority.values().length];
+    private final Map<Endpoint, Priority> priorities;
+    private final int maxConcurrent;
+    private final RateLimitInterceptor rateLimiter;
+    private final MetricsListener metrics;
+    private int inFlight;
+    private double virtualTime;
+    private boolean timerArmed;
+
+    /**
+     * @param weights       the weight of each priority's lane.
+     * @param laneLimits    the concurrency cap of each priority's lane.
+     * @param priorities    the priority of each endpoint.
+     * @param maxConcurrent the cap on attempts in flight across all lanes.
+     */
+    PriorityScheduler(Map<Priority, Integer> weights, Map<Priority, Integer> laneLimits,
+                      Map<Endpoint, Priority> priorities, int maxConcurrent, RateLimitInterceptor rateLimiter,
+                      MetricsListener metrics) {
+        for (Priority priority : Priority.values()) {
+            lanes[priority.ordinal()] = new Lane(priority, weights.get(priority), laneLimits.get(priority));
+        }
+        this.priorities = new EnumMap<>(priorities);
+        this.maxConcurrent = maxConcurrent;
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
+    }
+
+    Priority priorityOf(Endpoint endpoint) {
+        return priorities.get(endpoint);
+    }
+
+    /**
+     * Queues an attempt in its priority lane.
+     *
+     * @return a future completed when the attempt is admitted. Every admitted attempt must be
+     * {@linkplain #release(CallContext) released}; an attempt abandoned while queued is
+     * {@linkplain #abandon(CompletableFuture, CallContext) abandoned} instead.
+     */
+    CompletableFuture<Void> acquire(CallContext context) {
+        Lane lane = lanes[priorityOf(context.endpoint()).ordinal()];
+        Ticket ticket = new Ticket(context, lane);
+        List<Ticket> admitted;
+        synchronized (this) {
+            if (lane.queue.isEmpty() && lane.inFlight == 0) {
+                lane.finishTag = Math.max(lane.finishTag, virtualTime);
+            }
+            lane.queue.add(ticket);
+            admitted = dispatch();
+        }
+        complete(admitted);
+        return ticket;
+    }
+
+    /**
+     * Blocks until the attempt is admitted, or until the call's deadline.
+     */
+    void await(CallContext context) throws TopGamesException {
+        CompletableFuture<Void> ticket = acquire(context);
+        try {
+            if (context.hasDeadline()) {
+                ticket.get(context.remainingNanos(), TimeUnit.NANOSECONDS);
+            } else {
+                ticket.get();
+            }
+        } catch (TimeoutException e) {
+            abandon(ticket, context);
+            throw new TopGamesException("Deadline exceeded while waiting to be scheduled", e);
+        } catch (InterruptedException e) {
+            abandon(ticket, context);
+            Thread.currentThread().interrupt();
+            throw new TopGamesException("Interrupted while waiting to be scheduled", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scheduler tickets are never completed exceptionally", e);
+        }
+    }
+
+    /**
+     * Gives up a queued attempt, releasing its slot if it was admitted in the meantime.
+     */
+    void abandon(CompletableFuture<Void> ticket, CallContext context) {
+        if (!ticket.cancel(false)) {
+            release(context);
+        }
+    }
+
+    /**
+     * Frees the slot of a finished attempt.
+     */
+    void release(CallContext context) {
+        Lane lane = lanes[priorityOf(context.endpoint()).ordinal()];
+        List<Ticket> admitted;
+        synchronized (this) {
+            lane.inFlight--;
+            inFlight--;
+            admitted = dispatch();
+        }
+        complete(admitted);
+    }
+
+    private List<Ticket> dispatch() {
+        List<Ticket> admitted = null;
+        while (inFlight < maxConcurrent) {
+            Lane next = null;
+            for (Lane lane : lanes) {
+                dropCancelled(lane);
+                if (!lane.queue.isEmpty() && lane.inFlight < lane.maxConcurrent
+                        && (next == null || lane.finishTag < next.finishTag)) {
+                    next = lane;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            if (rateLimiter != null && !rateLimiter.tryAcquire()) {
+                armTimer();
+                break;
+            }
+            Ticket ticket = next.queue.poll();
+            next.inFlight++;
+            inFlight++;
+            virtualTime = next.finishTag;
+            next.finishTag += next.increment;
+            if (admitted == null) {
+                admitted = new ArrayList<>(2);
+            }
+            admitted.add(ticket);
+        }
+        return admitted;
+    }
+
+    private static void dropCancelled(Lane lane) {
+        while (!lane.queue.isEmpty() && lane.queue.peek().isCancelled()) {
+            lane.queue.poll();
+        }
+    }
+
+    private void armTimer() {
+        if (timerArmed) {
+            return;
+        }
+        timerArmed = true;
+        long delay = Math.max(rateLimiter.nanosUntilAvailable(), TimeUnit.MICROSECONDS.toNanos(100));
+        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, Runnable::run).execute(() -> {
+            List<Ticket> admitted;
+            synchronized (this) {
+                timerArmed = false;
+                admitted = dispatch();
+            }
+            complete(admitted);
+        });
+    }
+
+    private void complete(List<Ticket> admitted) {
+        if (admitted == null) {
+            return;
+        }
+        for (Ticket ticket : admitted) {
+            long waitNanos = System.nanoTime() - ticket.enqueuedAt;
+            if (rateLimiter != null) {
+                ticket.context.prepayPermit();
+            }
+            metrics.queueWaited(ticket.lane.priority, waitNanos);
+            log.trace("Admitted {} attempt after {}us", ticket.lane.priority, TimeUnit.NANOSECONDS.toMicros(waitNanos));
+            if (!ticket.complete(null)) {
+                // Abandoned by its caller after being admitted.
+                release(ticket.context);
+            }
+        }
+    }
+}
@@ -7,57 +7,126 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Semaphore;
+import java.io.InterruptedIOException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * An OkHttp interceptor that enforces a client-side rate limit.
+ * <p>
+ * Implemented as a lock-free GCRA (generic cell rate algorithm) token bucket: a single
+ * {@link AtomicLong} holds the theoretical arrival time of the next permit and is advanced with
+ * CAS, refilling lazily from {@link System#nanoTime()}. Up to {@code burst} requests pass
+ * immediately after an idle period; after that, requests are spaced evenly at
+ * {@code period / permits}. There is no background thread.
+ * <p>
+ * Asynchronous calls reserve their permit with {@link #reserve()} before being enqueued and wait
+ * out the delay on a timer, so OkHttp dispatcher threads are never parked here. A call with a deadline
+ * fails without taking a permit if none becomes usable before the deadline.
  */
 class RateLimitInterceptor implements Interceptor {
     private static final Logger log = LoggerFactory.getLogger(RateLimitInterceptor.class);
-    private final Semaphore semaphore;
-    private final int permits;
-    private final ScheduledExecutorService scheduler;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
 
     RateLimitInterceptor(int permits, long period, TimeUnit unit) {
-        this.semaphore = new Semaphore(permits, true);
-        this.permits = permits;
-        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
-            Thread thread = new Thread(runnable, "RateLimit-Scheduler");
-            thread.setDaemon(true);
-            return thread;
-        });
-        scheduler.scheduleAtFixedRate(this::replenishPermits, period, period, unit);
+        this(permits, period, unit, permits);
     }
 
-    private void replenishPermits() {
-        int permitsToRelease = permits - semaphore.availablePermits();
-        if (permitsToRelease > 0) {
-            semaphore.release(permitsToRelease);
-            log.trace("Replenished {} permits.", permitsToRelease);
+    RateLimitInterceptor(int permits, long period, TimeUnit unit, int burst) {
+        if (permits <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Permits and burst must be positive");
         }
+        this.intervalNanos = Math.max(1, unit.toNanos(period) / permits);
+        this.toleranceNanos = (burst - 1) * intervalNanos;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - toleranceNanos);
+    }
+
+    /**
+     * Reserves the next permit and returns how long the caller must wait before using it.
+     *
+     * @return the wait in nanoseconds; zero or negative if the permit is usable immediately.
+     */
+    long reserve() {
+        long now = System.nanoTime();
+        long current = theoreticalArrival.get();
+        while (current - now < 0) {
+            // Idle long enough for the bucket to refill: restart the schedule from now.
+            if (theoreticalArrival.compareAndSet(current, now + intervalNanos)) {
+                return -toleranceNanos;
+            }
+            current = theoreticalArrival.get();
+        }
+        // Otherwise queue up behind the latest reservation; getAndAdd never fails under contention.
+        long start = theoreticalArrival.getAndAdd(intervalNanos);
+        return start - toleranceNanos - now;
+    }
+
+    /**
+     * Takes a permit only if one is usable right now, without queuing behind other reservations.
+     *
+     * @return {@code true} if a permit was taken.
+     */
+    boolean tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long current = theoreticalArrival.get();
+            if (current - toleranceNanos - now > 0) {
+                return false;
+            }
+            long next = (current - now < 0 ? now : current) + intervalNanos;
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return the time until {@link #tryAcquire()} can succeed, in nanoseconds; zero if it can now.
+     */
+    long nanosUntilAvailable() {
+        return Math.max(0, theoreticalArrival.get() - toleranceNanos - System.nanoTime());
+    }
+
+    /**
+     * Reserves a permit and blocks until it may be used.
+     *
+     * @return the time the permit was reserved for in nanoseconds; zero or negative if there was no wait.
+     */
+    long acquire() throws IOException {
+        long reserved = reserve();
+        long waitNanos = reserved;
+        if (waitNanos <= 0) {
+            return reserved;
+        }
+        log.trace("Waiting {}ms for rate limit permit...", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        long deadline = System.nanoTime() + waitNanos;
+        while ((waitNanos = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, waitNanos);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for rate limit permit");
+            }
+        }
+        return reserved;
     }
 
     @NotNull
     @Override
     public Response intercept(@NotNull Chain chain) throws IOException {
-        try {
-            log.trace("Waiting for rate limit permit...");
-            semaphore.acquire();
+        CallContext context = chain.request().tag(CallContext.class);
+        if (context == null || !context.consumePrepaidPermit()) {
+            if (context != null && context.exceedsDeadline(nanosUntilAvailable())) {
+                throw new InterruptedIOException("Deadline exceeded before a rate limit permit was available");
+            }
+            long waitNanos = acquire();
+            if (context != null) {
+                context.recordRateLimitWait(waitNanos);
+            }
             log.trace("Permit acquired. Proceeding with request.");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IOException("Interrupted while waiting for rate limit permit", e);
         }
         return chain.proceed(chain.request());
     }
-
-    /**
-     * Shuts down the internal scheduler.
-     */
-    public void shutdown() {
-        scheduler.shutdown();
-    }
 }
@@ -0,0 +1,123 @@
+package xyz.titanecho.topgamesapi;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import xyz.titanecho.topgamesapi.model.Server;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Serves the last known server information from memory and refreshes it in the background.
+ * <p>
+ * Below the soft TTL the value is returned as is. Between the soft and hard TTL it is returned marked
+ * stale, and one asynchronous refresh is started. A failed refresh keeps the old value, and the next
+ * background attempt waits another soft TTL, so a failing upstream is not hit on every call. Without a
+ * value, or past the hard TTL, callers wait for a refresh and see its failure. At most one refresh is in
+ * flight at a time.
+ */
+final class RefreshAhead {
+    private static final Logger log = LoggerFactory.getLogger(RefreshAhead.class);
+
+    private static final class Entry {
+        final ServerSnapshot fresh;
+        final ServerSnapshot stale;
+        final long fetchedAtNanos;
+
+        Entry(Server server, long fetchedAtNanos) {
+            Instant fetchedAt = Instant.now();
+            this.fresh = new ServerSnapshot(server, fetchedAt, false);
+            this.stale = new ServerSnapshot(server, fetchedAt, true);
+            this.fetchedAtNanos = fetchedAtNanos;
+        }
+    }
+
+    private final Endpoint endpoint;
+    private final long softTtlNanos;
+    private final long hardTtlNanos;
+    private final Supplier<CompletableFuture<Server>> loader;
+    private final AtomicReference<CompletableFuture<Entry>> inFlight = new AtomicReference<>();
+    private volatile Entry current;
+    private volatile long retryAtNanos;
+
+    RefreshAhead(Endpoint endpoint, long softTtlNanos, long hardTtlNanos, Supplier<CompletableFuture<Server>> loader) {
+        this.endpoint = endpoint;
+        this.softTtlNanos = softTtlNanos;
+        this.hardTtlNanos = hardTtlNanos;
+        this.loader = loader;
+        this.retryAtNanos = System.nanoTime();
+    }
+
+    ServerSnapshot get() throws TopGamesException {
+        Entry entry = current;
+        if (entry != null) {
+            long age = System.nanoTime() - entry.fetchedAtNanos;
+            if (age < softTtlNanos) {
+                return entry.fresh;
+            }
+            if (age < hardTtlNanos) {
+                if (System.nanoTime() - retryAtNanos >= 0) {
+                    refresh();
+                }
+                return entry.stale;
+            }
+        }
+        return await(refresh()).fresh;
+    }
+
+    private CompletableFuture<Entry> refresh() {
+        while (true) {
+            CompletableFuture<Entry> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<Entry> refresh = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, refresh)) {
+                load(refresh);
+                return refresh;
+            }
+        }
+    }
+
+    private void load(CompletableFuture<Entry> refresh) {
+        CompletableFuture<Server> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+        load.whenComplete((server, error) -> {
+            if (error != null) {
+                retryAtNanos = System.nanoTime() + softTtlNanos;
+                inFlight.set(null);
+                log.warn("Refreshing {} failed; serving the previous value until its hard TTL.", endpoint, error);
+                refresh.completeExceptionally(error);
+            } else {
+                Entry entry = new Entry(server, System.nanoTime());
+                current = entry;
+                inFlight.set(null);
+                refresh.complete(entry);
+            }
+        });
+    }
+
+    private static Entry await(CompletableFuture<Entry> refresh) throws TopGamesException {
+        try {
+            return refresh.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TopGamesException("Interrupted while waiting for server information", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof TopGamesException) {
+                throw new TopGamesException(cause.getMessage(), cause);
+            }
+            throw new TopGamesException("Failed to refresh server information", cause);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package xyz.titanecho.topgamesapi;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A size-bounded, in-process cache for decoded responses of read endpoints.
+ * <p>
+ * Entries expire after a per-endpoint TTL and the least recently used entry is evicted once
+ * the size bound is reached. Concurrent lookups for a key whose load is still in flight wait
+ * for that load instead of issuing their own HTTP call, so a burst of identical requests costs
+ * exactly one round trip. Failed loads are never cached.
+ */
+final class ResponseCache {
+    private static final Logger log = LoggerFactory.getLogger(ResponseCache.class);
+
+    @FunctionalInterface
+    interface Loader<T> {
+        T load() throws TopGamesException;
+    }
+
+    private record Key(Endpoint endpoint, String argument) {
+    }
+
+    private static final class Entry {
+        final CompletableFuture<Object> value = new CompletableFuture<>();
+        volatile long expiresAt;
+    }
+
+    private final int maxEntries;
+    private final long defaultTtlNanos;
+    private final Map<Endpoint, Long> ttlNanos = new EnumMap<>(Endpoint.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    ResponseCache(int maxEntries, Duration defaultTtl, Map<Endpoint, Duration> endpointTtls) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.defaultTtlNanos = defaultTtl.toNanos();
+        endpointTtls.forEach((endpoint, ttl) -> ttlNanos.put(endpoint, ttl.toNanos()));
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for the given endpoint and argument, loading it on the calling
+     * thread if absent or expired, or waiting for a load already in flight.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(Endpoint endpoint, String argument, Loader<T> loader) throws TopGamesException {
+        Key key = new Key(endpoint, argument);
+        Entry entry;
+        boolean owner = false;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry != null && entry.value.isDone() && System.nanoTime() - entry.expiresAt >= 0) {
+                entries.remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(key, entry);
+                owner = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (owner) {
+            misses.increment();
+            return (T) load(key, entry, loader);
+        }
+        if (entry.value.isDone()) {
+            hits.increment();
+        } else {
+            coalesced.increment();
+            log.trace("Joining in-flight request for {}", key);
+        }
+        return (T) await(entry);
+    }
+
+    private Object load(Key key, Entry entry, Loader<?> loader) throws TopGamesException {
+        Object value;
+        try {
+            value = loader.load();
+        } catch (Throwable e) {
+            lock.lock();
+            try {
+                entries.remove(key, entry);
+            } finally {
+                lock.unlock();
+            }
+            entry.value.completeExceptionally(e);
+            throw e;
+        }
+        entry.expiresAt = System.nanoTime() + ttlNanos.getOrDefault(key.endpoint(), defaultTtlNanos);
+        entry.value.complete(value);
+        return value;
+    }
+
+    private static Object await(Entry entry) throws TopGamesException {
+        try {
+            return entry.value.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TopGamesException("Interrupted while waiting for an in-flight request", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TopGamesException) {
+                throw new TopGamesException(cause.getMessage(), cause);
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+    void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    CacheStats stats() {
+        int size;
+        lock.lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), coalesced.sum(), evictions.sum(), size);
+    }
+
+    static void checkTtl(Duration ttl) {
+        Objects.requireNonNull(ttl, "TTL must not be null");
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("TTL must not be negative");
+        }
+    }
+}
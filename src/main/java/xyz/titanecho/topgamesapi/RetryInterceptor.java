@@ -8,70 +8,151 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An OkHttp interceptor that retries requests on failure.
+ * <p>
+ * Retries network errors, server errors (5xx) and 429 responses with capped exponential
+ * backoff and full jitter. A {@code Retry-After} header overrides the computed delay; if it asks
+ * for more than the cap, the response is returned to the caller instead of being retried.
+ * <p>
+ * Synchronous calls back off on the calling thread. Asynchronous calls are retried by
+ * {@link AsyncCall}, which reschedules them on a timer using the same policy, so this
+ * interceptor passes them straight through. Attempts rejected by the circuit breaker or the
+ * concurrency limit are never retried, and neither are cancelled calls or calls whose deadline would pass
+ * during the backoff.
  */
 class RetryInterceptor implements Interceptor {
     private static final Logger log = LoggerFactory.getLogger(RetryInterceptor.class);
+    private static final int TOO_MANY_REQUESTS = 429;
     private final int maxRetries;
     private final long initialDelayMs;
+    private final long maxDelayMs;
 
     RetryInterceptor(int maxRetries, long initialDelayMs) {
+        this(maxRetries, initialDelayMs, 10_000);
+    }
+
+    RetryInterceptor(int maxRetries, long initialDelayMs, long maxDelayMs) {
         this.maxRetries = maxRetries;
         this.initialDelayMs = initialDelayMs;
+        this.maxDelayMs = maxDelayMs;
     }
 
     @NotNull
     @Override
     public Response intercept(@NotNull Chain chain) throws IOException {
         Request request = chain.request();
-        Response response = null;
-        IOException exception = null;
-        int tryCount = 0;
-        long delayMs = initialDelayMs;
+        CallContext context = request.tag(CallContext.class);
+        if (context != null && context.isAsync()) {
+            return chain.proceed(request);
+        }
 
-        while (tryCount <= maxRetries) {
+        int tryCount = 0;
+        while (true) {
             tryCount++;
+            Response response;
             try {
                 response = chain.proceed(request);
-                if (response.isSuccessful() || !isRetryable(response)) {
-                    return response;
-                }
+            } catch (CallRejectedException e) {
+                throw e;
             } catch (IOException e) {
-                exception = e;
+                if (chain.call().isCanceled()) {
+                    // Cancelled by the caller, its deadline or a hedge that answered first: not a failure to retry.
+                    throw e;
+                }
+                long delayMs = backoffMillis(tryCount, null);
+                if (delayMs < 0 || exceedsDeadline(context, delayMs)) {
+                    throw e;
+                }
                 log.warn("Request failed due to IOException on try #{}. Retrying...", tryCount, e);
+                recordRetry(context);
+                sleep(delayMs, tryCount);
+                continue;
             }
 
-            if (response != null) {
-                // Close the previous unsuccessful response body to prevent resource leaks
-                response.close();
+            if (response.isSuccessful() || !isRetryable(response)) {
+                return response;
             }
-
-            if (tryCount > maxRetries) {
-                break;
+            long delayMs = backoffMillis(tryCount, response);
+            if (delayMs < 0 || exceedsDeadline(context, delayMs)) {
+                return response;
             }
+            // Close the previous unsuccessful response body to prevent resource leaks
+            response.close();
+            recordRetry(context);
+            sleep(delayMs, tryCount);
+        }
+    }
 
-            try {
-                log.debug("Waiting {}ms before retry #{}", delayMs, tryCount);
-                Thread.sleep(delayMs);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new IOException("Interrupted during retry backoff", e);
-            }
-            // Exponential backoff
-            delayMs *= 2;
+    private static boolean exceedsDeadline(CallContext context, long delayMs) {
+        if (context != null && context.exceedsDeadline(TimeUnit.MILLISECONDS.toNanos(delayMs))) {
+            log.debug("Retrying after {}ms would exceed the call's deadline. Not retrying.", delayMs);
+            return true;
         }
+        return false;
+    }
 
-        if (exception != null) {
-            throw exception;
+    private static void recordRetry(CallContext context) {
+        if (context != null) {
+            context.recordRetry();
         }
-        // Should not happen if response is not null, but as a fallback
-        return response;
     }
 
-    private boolean isRetryable(Response response) {
-        // Retry on server errors (5xx)
-        return response.code() >= 500 && response.code() < 600;
+    private static void sleep(long delayMs, int tryCount) throws IOException {
+        try {
+            log.debug("Waiting {}ms before retry #{}", delayMs, tryCount);
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during retry backoff", e);
+        }
+    }
+
+    /**
+     * Computes the delay before the next attempt.
+     *
+     * @param tryCount the number of attempts made so far, starting at 1.
+     * @param response the failed response, or {@code null} if the attempt failed with an {@link IOException}.
+     * @return the delay in milliseconds, or {@code -1} if the call should not be retried.
+     */
+    long backoffMillis(int tryCount, Response response) {
+        if (tryCount > maxRetries) {
+            return -1;
+        }
+        if (response != null) {
+            long retryAfterMs = retryAfterMillis(response);
+            if (retryAfterMs > maxDelayMs) {
+                log.debug("Retry-After of {}ms exceeds the {}ms cap. Not retrying.", retryAfterMs, maxDelayMs);
+                return -1;
+            }
+            if (retryAfterMs >= 0) {
+                return retryAfterMs;
+            }
+        }
+        // Full jitter: a uniform delay between zero and the capped exponential backoff.
+        long ceiling = Math.min(maxDelayMs, initialDelayMs << Math.min(tryCount - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    boolean isRetryable(Response response) {
+        // Retry on server errors (5xx) and on rate limiting (429)
+        return response.code() == TOO_MANY_REQUESTS || (response.code() >= 500 && response.code() < 600);
+    }
+
+    private static long retryAfterMillis(Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate("Retry-After");
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+        }
     }
 }
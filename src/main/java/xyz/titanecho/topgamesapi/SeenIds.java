@@ -0,0 +1,44 @@
+package xyz.titanecho.topgamesapi;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A set of recently seen IDs that forgets each ID a fixed time after it was first seen.
+ * IDs are kept in insertion order, so expiry only ever inspects the oldest entries. Not thread-safe.
+ */
+final class SeenIds {
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Long> firstSeen = new LinkedHashMap<>();
+
+    SeenIds(long ttlNanos) {
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * @return {@code true} if the ID had not been seen within the TTL.
+     */
+    boolean add(String id, long nowNanos) {
+        return firstSeen.putIfAbsent(id, nowNanos) == null;
+    }
+
+    void remove(String id) {
+        firstSeen.remove(id);
+    }
+
+    boolean contains(String id) {
+        return firstSeen.containsKey(id);
+    }
+
+    void expire(long nowNanos) {
+        Iterator<Map.Entry<String, Long>> oldest = firstSeen.entrySet().iterator();
+        while (oldest.hasNext() && nowNanos - oldest.next().getValue() >= ttlNanos) {
+            oldest.remove();
+        }
+    }
+
+    int size() {
+        return firstSeen.size();
+    }
+}
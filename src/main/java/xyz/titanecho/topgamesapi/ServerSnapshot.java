@@ -0,0 +1,55 @@
+package xyz.titanecho.topgamesapi;
+
+import xyz.titanecho.topgamesapi.model.Server;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Server information together with when it was fetched and whether it is past its soft TTL.
+ *
+ * @see TopGamesClient#getServerInfoSnapshot()
+ * @see TopGamesClient.Builder#refreshServerInfoAhead(Duration, Duration)
+ */
+public final class ServerSnapshot {
+    private final Server server;
+    private final Instant fetchedAt;
+    private final boolean stale;
+
+    ServerSnapshot(Server server, Instant fetchedAt, boolean stale) {
+        this.server = server;
+        this.fetchedAt = fetchedAt;
+        this.stale = stale;
+    }
+
+    public Server getServer() {
+        return server;
+    }
+
+    /**
+     * @return When the server information was received.
+     */
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    /**
+     * @return The time since the server information was received.
+     */
+    public Duration getAge() {
+        return Duration.between(fetchedAt, Instant.now());
+    }
+
+    /**
+     * @return {@code true} if the information is older than the soft TTL, because a refresh is in flight or
+     * the last refresh failed.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    @Override
+    public String toString() {
+        return "ServerSnapshot{fetchedAt=" + fetchedAt + ", stale=" + stale + '}';
+    }
+}
@@ -0,0 +1,100 @@
+package xyz.titanecho.topgamesapi;
+
+import java.util.Arrays;
+
+/**
+ * Server stats decoded as columns, with each date parsed once into an epoch day. Filled by
+ * {@link ModelAdapters} straight from the {@code stats} array, without a {@code Stat} per day.
+ */
+final class StatColumns {
+    long[] days = new long[16];
+    int[] votes = new int[16];
+    int[] clicks = new int[16];
+    int size;
+
+    void add(long day, int dayVotes, int dayClicks) {
+        if (size == days.length) {
+            days = Arrays.copyOf(days, size * 2);
+            votes = Arrays.copyOf(votes, size * 2);
+            clicks = Arrays.copyOf(clicks, size * 2);
+        }
+        days[size] = day;
+        votes[size] = dayVotes;
+        clicks[size] = dayClicks;
+        size++;
+    }
+
+    /**
+     * Sorts the columns by day, oldest first. For duplicate days, the entry returned last by the API wins.
+     */
+    void sortByDay() {
+        boolean sorted = true;
+        for (int i = 1; i < size && sorted; i++) {
+            sorted = days[i] > days[i - 1];
+        }
+        if (sorted) {
+            return;
+        }
+        // High half: the day. Low half: the API position, so duplicates stay in API order.
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (days[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        long[] sortedDays = new long[size];
+        int[] sortedVotes = new int[size];
+        int[] sortedClicks = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int from = (int) keys[i];
+            if (count > 0 && sortedDays[count - 1] == days[from]) {
+                count--;
+            }
+            sortedDays[count] = days[from];
+            sortedVotes[count] = votes[from];
+            sortedClicks[count] = clicks[from];
+            count++;
+        }
+        days = sortedDays;
+        votes = sortedVotes;
+        clicks = sortedClicks;
+        size = count;
+    }
+
+    /**
+     * Parses the {@code yyyy-MM-dd} prefix of a stat date into days since 1970-01-01, without
+     * allocating a {@link java.time.LocalDate}.
+     *
+     * @throws IllegalStateException if the date is not in that format.
+     */
+    static long epochDay(String date) {
+        if (date == null || date.length() < 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            throw new IllegalStateException("Unexpected stat date: " + date);
+        }
+        int year = digits(date, 0, 4);
+        int month = digits(date, 5, 7);
+        int day = digits(date, 8, 10);
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            throw new IllegalStateException("Unexpected stat date: " + date);
+        }
+        // Days from civil, counting years from March so the leap day ends the year.
+        int y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        int yearOfEra = (int) (y - era * 400);
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static int digits(String s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalStateException("Unexpected stat date: " + s);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
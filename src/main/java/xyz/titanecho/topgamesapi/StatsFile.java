@@ -0,0 +1,92 @@
+package xyz.titanecho.topgamesapi;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A memory-mapped file of daily stats: a 16-byte header followed by fixed 16-byte records of
+ * epoch day, votes and clicks, oldest first.
+ * <p>
+ * Records are written before the count that covers them, so a crash leaves a consistent prefix.
+ * The mapping grows by doubling. Not thread-safe.
+ */
+final class StatsFile implements Closeable {
+    private static final int MAGIC = 0x54475354; // "TGST"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 16;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+
+    StatsFile(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long existing = channel.size();
+            if (existing == 0) {
+                map(INITIAL_CAPACITY);
+                buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, 0);
+            } else {
+                if (existing < HEADER_BYTES) {
+                    throw new IOException("Not a stats history file: " + path);
+                }
+                map((int) Math.max(INITIAL_CAPACITY, (existing - HEADER_BYTES) / RECORD_BYTES));
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || count() > capacity) {
+                    throw new IOException("Not a stats history file: " + path);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    int count() {
+        return buffer.getInt(8);
+    }
+
+    long day(int index) {
+        return buffer.getLong(offset(index));
+    }
+
+    int votes(int index) {
+        return buffer.getInt(offset(index) + 8);
+    }
+
+    int clicks(int index) {
+        return buffer.getInt(offset(index) + 12);
+    }
+
+    void write(int index, long day, int votes, int clicks) throws IOException {
+        if (index >= capacity) {
+            map(Math.max(capacity * 2, index + 1));
+        }
+        int offset = offset(index);
+        buffer.putLong(offset, day).putInt(offset + 8, votes).putInt(offset + 12, clicks);
+    }
+
+    void setCount(int count) {
+        buffer.putInt(8, count);
+    }
+
+    private void map(int records) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) records * RECORD_BYTES);
+        capacity = records;
+    }
+
+    private static int offset(int index) {
+        return HEADER_BYTES + index * RECORD_BYTES;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,228 @@
+package xyz.titanecho.topgamesapi;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A local copy of the server's daily stats history, kept up to date by {@link #refresh()}.
+ * <p>
+ * Dates are parsed once into epoch days, and votes and clicks live in primitive arrays with running
+ * totals. A refresh decodes the API response without creating a {@code Stat} per day and merges only the
+ * days after the last stored one, plus updated counts for that last day. Windowed aggregates use the
+ * running totals, so each one costs two binary searches however long the window is.
+ * <p>
+ * With {@link Builder#persistTo(Path)}, the history is also kept in a memory-mapped file and loaded from it
+ * on the next start. Close the history to flush the file; the client is not closed.
+ * <p>
+ * All methods are thread-safe.
+ */
+public final class StatsHistory implements Closeable {
+    public enum Metric {
+        VOTES,
+        CLICKS
+    }
+
+    private final TopGamesClient client;
+    private final StatsFile file;
+    private long[] days = new long[64];
+    private int[] votes = new int[64];
+    private int[] clicks = new int[64];
+    // Running totals: voteTotals[i] is the sum of votes[0..i].
+    private long[] voteTotals = new long[64];
+    private long[] clickTotals = new long[64];
+    private int size;
+
+    private StatsHistory(Builder builder) throws IOException {
+        this.client = builder.client;
+        this.file = builder.file != null ? new StatsFile(builder.file) : null;
+        if (file != null) {
+            int count = file.count();
+            for (int i = 0; i < count; i++) {
+                append(file.day(i), file.votes(i), file.clicks(i));
+            }
+        }
+    }
+
+    /**
+     * Fetches the stats and merges the days newer than the stored history.
+     *
+     * @return The number of days added or updated.
+     */
+    public int refresh() throws TopGamesException {
+        StatColumns fetched = client.fetchStatColumns();
+        fetched.sortByDay();
+        synchronized (this) {
+            int firstChanged = size;
+            int changed = 0;
+            for (int i = 0; i < fetched.size; i++) {
+                long day = fetched.days[i];
+                if (size > 0 && day < days[size - 1]) {
+                    continue;
+                }
+                if (size > 0 && day == days[size - 1]) {
+                    if (votes[size - 1] != fetched.votes[i] || clicks[size - 1] != fetched.clicks[i]) {
+                        size--;
+                        firstChanged = Math.min(firstChanged, size);
+                        append(day, fetched.votes[i], fetched.clicks[i]);
+                        changed++;
+                    }
+                    continue;
+                }
+                append(day, fetched.votes[i], fetched.clicks[i]);
+                changed++;
+            }
+            if (changed > 0) {
+                persist(firstChanged);
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * @return The number of stored days.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return The oldest stored day, or {@code null} if the history is empty.
+     */
+    public synchronized LocalDate getFirstDay() {
+        return size > 0 ? LocalDate.ofEpochDay(days[0]) : null;
+    }
+
+    /**
+     * @return The newest stored day, or {@code null} if the history is empty.
+     */
+    public synchronized LocalDate getLastDay() {
+        return size > 0 ? LocalDate.ofEpochDay(days[size - 1]) : null;
+    }
+
+    /**
+     * @return The value on the given day, or {@code 0} if the day is not stored.
+     */
+    public synchronized int get(@NotNull Metric metric, @NotNull LocalDate day) {
+        int index = Arrays.binarySearch(days, 0, size, day.toEpochDay());
+        if (index < 0) {
+            return 0;
+        }
+        return metric == Metric.VOTES ? votes[index] : clicks[index];
+    }
+
+    /**
+     * @return The sum over the days from {@code from} to {@code to}, both inclusive.
+     */
+    public synchronized long sum(@NotNull Metric metric, @NotNull LocalDate from, @NotNull LocalDate to) {
+        return sum(metric, from.toEpochDay(), to.toEpochDay());
+    }
+
+    /**
+     * @return The average per day over the {@code windowDays} days ending at {@code end}. Days missing from
+     * the history count as zero.
+     */
+    public synchronized double movingAverage(@NotNull Metric metric, @NotNull LocalDate end, int windowDays) {
+        if (windowDays < 1) {
+            throw new IllegalArgumentException("Window must be at least one day");
+        }
+        long last = end.toEpochDay();
+        return (double) sum(metric, last - windowDays + 1, last) / windowDays;
+    }
+
+    /**
+     * @return The relative change between the 7 days ending at {@code end} and the 7 days before them, e.g.
+     * {@code 0.25} for a 25% increase, or {@link Double#NaN} if the earlier week is zero.
+     */
+    public synchronized double weekOverWeek(@NotNull Metric metric, @NotNull LocalDate end) {
+        long last = end.toEpochDay();
+        long thisWeek = sum(metric, last - 6, last);
+        long previousWeek = sum(metric, last - 13, last - 7);
+        return previousWeek == 0 ? Double.NaN : (double) (thisWeek - previousWeek) / previousWeek;
+    }
+
+    private long sum(Metric metric, long from, long to) {
+        int first = lowerBound(from);
+        int last = lowerBound(to + 1) - 1;
+        if (first > last) {
+            return 0;
+        }
+        long[] totals = metric == Metric.VOTES ? voteTotals : clickTotals;
+        return totals[last] - (first > 0 ? totals[first - 1] : 0);
+    }
+
+    private int lowerBound(long day) {
+        int index = Arrays.binarySearch(days, 0, size, day);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void append(long day, int dayVotes, int dayClicks) {
+        if (size == days.length) {
+            int capacity = size * 2;
+            days = Arrays.copyOf(days, capacity);
+            votes = Arrays.copyOf(votes, capacity);
+            clicks = Arrays.copyOf(clicks, capacity);
+            voteTotals = Arrays.copyOf(voteTotals, capacity);
+            clickTotals = Arrays.copyOf(clickTotals, capacity);
+        }
+        days[size] = day;
+        votes[size] = dayVotes;
+        clicks[size] = dayClicks;
+        voteTotals[size] = (size > 0 ? voteTotals[size - 1] : 0) + dayVotes;
+        clickTotals[size] = (size > 0 ? clickTotals[size - 1] : 0) + dayClicks;
+        size++;
+    }
+
+    private void persist(int from) throws TopGamesException {
+        if (file == null) {
+            return;
+        }
+        try {
+            for (int i = from; i < size; i++) {
+                file.write(i, days[i], votes[i], clicks[i]);
+            }
+            file.setCount(size);
+        } catch (IOException e) {
+            throw new TopGamesException("Failed to persist stats history", e);
+        }
+    }
+
+    /**
+     * Flushes and closes the history file, if any.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (file != null) {
+            file.close();
+        }
+    }
+
+    public static class Builder {
+        private final TopGamesClient client;
+        private Path file = null;
+
+        public Builder(@NotNull TopGamesClient client) {
+            this.client = Objects.requireNonNull(client, "Client must not be null");
+        }
+
+        /**
+         * Keeps the history in a memory-mapped file, created if missing. Defaults to memory only.
+         */
+        public Builder persistTo(@NotNull Path file) {
+            this.file = Objects.requireNonNull(file);
+            return this;
+        }
+
+        /**
+         * @throws IOException if the history file cannot be opened or is not a stats history file.
+         */
+        public StatsHistory build() throws IOException {
+            return new StatsHistory(this);
+        }
+    }
+}
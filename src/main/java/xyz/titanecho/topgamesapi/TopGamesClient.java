@@ -1,18 +1,25 @@
 package xyz.titanecho.topgamesapi;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
 import okhttp3.Cache;
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import okhttp3.logging.HttpLoggingInterceptor;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -23,17 +30,33 @@ import xyz.titanecho.topgamesapi.model.Server;
 import xyz.titanecho.topgamesapi.model.Stat;
 import xyz.titanecho.topgamesapi.model.Vote;
 
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.X509TrustManager;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Type;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The main client for interacting with the Top-Games API.
@@ -41,32 +64,163 @@ import java.util.function.Function;
  */
 public class TopGamesClient implements Closeable {
     private static final Logger log = LoggerFactory.getLogger(TopGamesClient.class);
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final TypeToken<List<Game>> GAME_LIST = new TypeToken<>() {};
+    private static final TypeToken<ApiResponse<List<Vote>>> VOTES_RESPONSE = new TypeToken<>() {};
+    private static final TypeToken<ApiResponse<Server>> SERVER_RESPONSE = new TypeToken<>() {};
+    private static final TypeToken<ApiResponse<List<Stat>>> STATS_RESPONSE = new TypeToken<>() {};
+    private static final TypeToken<ApiResponse<List<PlayerRanking>>> RANKING_RESPONSE = new TypeToken<>() {};
+    private static final TypeToken<ApiResponse<StatColumns>> STAT_COLUMNS_RESPONSE = new TypeToken<>() {};
+    private static final TypeToken<ApiResponse<Leaderboard>> LEADERBOARD_RESPONSE = new TypeToken<>() {};
+    private static final TypeToken<ApiResponse<Object>> CHECK_RESPONSE = new TypeToken<>() {};
 
     private final HttpUrl baseUrl;
     private final String apiKey;
     private final OkHttpClient client;
-    private final Gson gson;
+    private final JsonCodec codec;
     private final RateLimitInterceptor rateLimitInterceptor;
+    private final RetryInterceptor retryInterceptor;
+    private final CircuitBreakerInterceptor circuitBreaker;
+    private final ConcurrencyLimitInterceptor concurrencyLimit;
+    private final HedgingPolicy hedging;
+    private final PriorityScheduler scheduler;
+    private final TopGamesClientFactory factory;
+    private final ExecutorService publisherExecutor;
+    private final ResponseCache responseCache;
+    private final RefreshAhead serverInfoRefresh;
+    private final RefreshAhead fullServerInfoRefresh;
+    private final int claimConcurrency;
+    private final ClaimJournal claimJournal;
+    private final VoteCheckBatcher usernameChecks;
+    private final VoteCheckBatcher ipChecks;
+    private final MetricsListener metrics;
+    private final EndpointTemplate<Game> gameEndpoint;
+    private final EndpointTemplate<List<Game>> topGamesEndpoint;
+    private final EndpointTemplate<ApiResponse<List<Vote>>> unclaimedVotesEndpoint;
+    private final EndpointTemplate<Void> claimByUsernameEndpoint;
+    private final EndpointTemplate<Void> claimBySteamIdEndpoint;
+    private final EndpointTemplate<ApiResponse<Server>> serverInfoEndpoint;
+    private final EndpointTemplate<ApiResponse<Server>> fullServerInfoEndpoint;
+    private final EndpointTemplate<ApiResponse<List<Stat>>> serverStatsEndpoint;
+    private final EndpointTemplate<ApiResponse<StatColumns>> statColumnsEndpoint;
+    private final EndpointTemplate<ApiResponse<List<PlayerRanking>>> playersRankingEndpoint;
+    private final EndpointTemplate<ApiResponse<Leaderboard>> playersLeaderboardEndpoint;
+    private final EndpointTemplate<ApiResponse<Object>> checkByIPEndpoint;
+    private final EndpointTemplate<ApiResponse<Object>> checkByUsernameEndpoint;
 
     private TopGamesClient(Builder builder) {
         this.baseUrl = Objects.requireNonNull(HttpUrl.parse(builder.baseUrl), "Base URL must be a valid URL");
+        this.factory = builder.factory;
         this.apiKey = builder.apiKey;
-        this.gson = new Gson();
+        this.publisherExecutor = factory != null
+                ? factory.publisherExecutor()
+                : createPublisherExecutor(builder.virtualThreads);
+        this.codec = factory != null
+                ? factory.codec()
+                : new JsonCodec(new GsonBuilder().registerTypeAdapterFactory(new ModelAdapters()).create());
+        Gson gson = codec.gson();
+        Headers headers = Headers.of("Authorization", "Bearer " + builder.apiKey, "Accept", "application/json");
+        HttpUrl games = baseUrl.newBuilder().addPathSegment("games").build();
+        HttpUrl votes = baseUrl.newBuilder().addPathSegment("votes").build();
+        HttpUrl server = baseUrl.newBuilder().addPathSegment("servers").addPathSegment(builder.apiKey).build();
+        String token = builder.apiKey;
+        this.gameEndpoint = new EndpointTemplate<>(Endpoint.GAME, games, null, headers, gson.getAdapter(Game.class));
+        this.topGamesEndpoint = new EndpointTemplate<>(Endpoint.TOP_GAMES,
+                path(games, "top"), null, headers, gson.getAdapter(GAME_LIST));
+        this.unclaimedVotesEndpoint = new EndpointTemplate<>(Endpoint.UNCLAIMED_VOTES,
+                path(votes, "last"), token, headers, gson.getAdapter(VOTES_RESPONSE));
+        this.claimByUsernameEndpoint = new EndpointTemplate<>(Endpoint.CLAIM_VOTE_BY_USERNAME,
+                path(votes, "claim-username"), token, headers, null);
+        this.claimBySteamIdEndpoint = new EndpointTemplate<>(Endpoint.CLAIM_VOTE_BY_STEAM_ID,
+                path(votes, "claim-steam"), token, headers, null);
+        this.serverInfoEndpoint = new EndpointTemplate<>(Endpoint.SERVER_INFO,
+                server, null, headers, gson.getAdapter(SERVER_RESPONSE));
+        this.fullServerInfoEndpoint = new EndpointTemplate<>(Endpoint.FULL_SERVER_INFO,
+                path(server, "full"), null, headers, gson.getAdapter(SERVER_RESPONSE));
+        this.serverStatsEndpoint = new EndpointTemplate<>(Endpoint.SERVER_STATS,
+                path(server, "stats"), null, headers, gson.getAdapter(STATS_RESPONSE));
+        this.statColumnsEndpoint = new EndpointTemplate<>(Endpoint.SERVER_STATS,
+                path(server, "stats"), null, headers, gson.getAdapter(STAT_COLUMNS_RESPONSE));
+        this.playersRankingEndpoint = new EndpointTemplate<>(Endpoint.PLAYERS_RANKING,
+                path(server, "players-ranking"), null, headers, gson.getAdapter(RANKING_RESPONSE));
+        this.playersLeaderboardEndpoint = new EndpointTemplate<>(Endpoint.PLAYERS_RANKING,
+                path(server, "players-ranking"), null, headers, gson.getAdapter(LEADERBOARD_RESPONSE));
+        this.checkByIPEndpoint = new EndpointTemplate<>(Endpoint.CHECK_VOTE_BY_IP,
+                path(votes, "check-ip"), token, headers, gson.getAdapter(CHECK_RESPONSE));
+        this.checkByUsernameEndpoint = new EndpointTemplate<>(Endpoint.CHECK_VOTE_BY_USERNAME,
+                path(votes, "check"), token, headers, gson.getAdapter(CHECK_RESPONSE));
         this.rateLimitInterceptor = builder.rateLimitInterceptor;
+        this.retryInterceptor = builder.retryInterceptor;
+        this.claimConcurrency = builder.claimConcurrency;
+        this.claimJournal = builder.claimJournal;
+        this.metrics = builder.metricsListener;
+        this.circuitBreaker = builder.circuitFailureRate > 0
+                ? new CircuitBreakerInterceptor(builder.circuitFailureRate, builder.circuitSlowCall.toNanos(),
+                        builder.circuitOpenDuration.toNanos(), 20, 10, 3, metrics)
+                : null;
+        if (builder.initialConcurrencyLimit > 0) {
+            this.concurrencyLimit = new ConcurrencyLimitInterceptor(builder.initialConcurrencyLimit,
+                    builder.maxConcurrencyLimit, metrics);
+            metrics.concurrencyLimitChanged(builder.initialConcurrencyLimit);
+        } else {
+            this.concurrencyLimit = null;
+        }
+        this.hedging = builder.hedgeQuantile > 0
+                ? new HedgingPolicy(builder.hedgeQuantile, builder.hedgeExtraLoad, rateLimitInterceptor)
+                : null;
+        this.scheduler = builder.schedulerMaxConcurrent > 0 ? createScheduler(builder, rateLimitInterceptor, metrics) : null;
+        if (builder.voteCheckBatchSize > 0) {
+            this.usernameChecks = new VoteCheckBatcher(builder.voteCheckWindow.toNanos(), builder.voteCheckBatchSize,
+                    builder.voteCheckPositiveTtl.toNanos(), builder.voteCheckNegativeTtl.toNanos(), this::sendCheckVoteByUsername);
+            this.ipChecks = new VoteCheckBatcher(builder.voteCheckWindow.toNanos(), builder.voteCheckBatchSize,
+                    builder.voteCheckPositiveTtl.toNanos(), builder.voteCheckNegativeTtl.toNanos(), this::sendCheckVoteByIP);
+        } else {
+            this.usernameChecks = null;
+            this.ipChecks = null;
+        }
+        if (builder.refreshSoftTtl != null) {
+            long soft = builder.refreshSoftTtl.toNanos();
+            long hard = builder.refreshHardTtl.toNanos();
+            this.serverInfoRefresh = new RefreshAhead(Endpoint.SERVER_INFO, soft, hard,
+                    () -> executeAsync(serverInfoEndpoint, serverInfoUrl()).thenApply(ApiResponse::getData));
+            this.fullServerInfoRefresh = new RefreshAhead(Endpoint.FULL_SERVER_INFO, soft, hard,
+                    () -> executeAsync(fullServerInfoEndpoint, fullServerInfoUrl()).thenApply(ApiResponse::getData));
+        } else {
+            this.serverInfoRefresh = null;
+            this.fullServerInfoRefresh = null;
+        }
+        this.responseCache = builder.responseCacheSize > 0
+                ? new ResponseCache(builder.responseCacheSize, builder.responseCacheTtl, builder.responseCacheTtls)
+                : null;
 
-        OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder()
-                .connectTimeout(builder.connectTimeout, builder.connectTimeoutUnit)
-                .readTimeout(builder.readTimeout, builder.readTimeoutUnit);
+        // Clients of a factory derive from its OkHttpClient, sharing the connection pool, dispatcher and cache.
+        OkHttpClient.Builder clientBuilder = factory != null
+                ? factory.httpClient().newBuilder()
+                : configureConnections(new OkHttpClient.Builder()
+                                .connectTimeout(builder.connectTimeout, builder.connectTimeoutUnit)
+                                .readTimeout(builder.readTimeout, builder.readTimeoutUnit),
+                        baseUrl, builder.maxIdleConnections, builder.keepAlive, builder.http2)
+                        .dispatcher(createDispatcher(builder.virtualThreads, builder.maxRequests,
+                                maxRequestsPerHost(builder.http2, builder.maxRequests, builder.maxRequestsPerHost)));
+        if (builder.sslSocketFactory != null) {
+            clientBuilder.sslSocketFactory(builder.sslSocketFactory, builder.trustManager);
+        }
 
         for (Interceptor interceptor : builder.customInterceptors) {
             clientBuilder.addInterceptor(interceptor);
         }
-        if (builder.retryInterceptor != null) {
-            clientBuilder.addInterceptor(builder.retryInterceptor);
+        if (this.retryInterceptor != null) {
+            clientBuilder.addInterceptor(this.retryInterceptor);
         }
         if (this.rateLimitInterceptor != null) {
             clientBuilder.addInterceptor(this.rateLimitInterceptor);
         }
+        if (this.circuitBreaker != null) {
+            clientBuilder.addInterceptor(this.circuitBreaker);
+        }
+        if (this.concurrencyLimit != null) {
+            clientBuilder.addInterceptor(this.concurrencyLimit);
+        }
         if (builder.cache != null) {
             clientBuilder.cache(builder.cache);
         }
@@ -77,15 +231,170 @@ public class TopGamesClient implements Closeable {
         }
 
         this.client = clientBuilder.build();
+        metrics.bindConnectionPool(client.connectionPool());
         log.info("TopGamesClient initialized for base URL: {}", baseUrl);
+        if (builder.warmUpConnections > 0) {
+            warmUp(builder.warmUpConnections);
+        }
+    }
+
+    private static HttpUrl path(HttpUrl parent, String segment) {
+        return parent.newBuilder().addPathSegment(segment).build();
+    }
+
+    private static PriorityScheduler createScheduler(Builder builder, RateLimitInterceptor rateLimiter,
+                                                     MetricsListener metrics) {
+        int max = builder.schedulerMaxConcurrent;
+        Map<Priority, Integer> weights = new EnumMap<>(Map.of(
+                Priority.INTERACTIVE, 16, Priority.NORMAL, 4, Priority.BACKGROUND, 1));
+        Map<Priority, Integer> limits = new EnumMap<>(Map.of(
+                Priority.INTERACTIVE, max, Priority.NORMAL, Math.max(1, max * 3 / 4), Priority.BACKGROUND, Math.max(1, max / 4)));
+        weights.putAll(builder.laneWeights);
+        limits.putAll(builder.laneLimits);
+        Map<Endpoint, Priority> priorities = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            priorities.put(endpoint, builder.requestPriorities.getOrDefault(endpoint, endpoint.defaultPriority()));
+        }
+        return new PriorityScheduler(weights, limits, priorities, max, rateLimiter, metrics);
+    }
+
+    /**
+     * Applies the connection pool and protocol settings shared by clients and factories.
+     *
+     * @param maxIdleConnections the pool's idle limit, or 0 for OkHttp's default pool.
+     */
+    static OkHttpClient.Builder configureConnections(OkHttpClient.Builder clientBuilder, HttpUrl baseUrl,
+                                                     int maxIdleConnections, Duration keepAlive, boolean http2) {
+        if (maxIdleConnections > 0) {
+            clientBuilder.connectionPool(new ConnectionPool(maxIdleConnections, keepAlive.toNanos(), TimeUnit.NANOSECONDS));
+        }
+        if (http2 && !baseUrl.isHttps()) {
+            // Without TLS there is no ALPN to negotiate with, so HTTP/2 is spoken from the first byte.
+            clientBuilder.protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+        }
+        return clientBuilder;
+    }
+
+    /**
+     * Over HTTP/2 every call to the host shares one connection, so the per-host limit, which exists to
+     * bound HTTP/1.1 connections, defaults to the overall limit.
+     */
+    static int maxRequestsPerHost(boolean http2, int maxRequests, int maxRequestsPerHost) {
+        if (maxRequestsPerHost > 0 || !http2) {
+            return maxRequestsPerHost;
+        }
+        return maxRequests > 0 ? maxRequests : 64;
+    }
+
+    static Dispatcher createDispatcher(boolean virtualThreads, int maxRequests, int maxRequestsPerHost) {
+        Dispatcher dispatcher;
+        if (virtualThreads) {
+            ThreadFactory factory = Thread.ofVirtual().name("TopGames-Dispatcher-", 0).factory();
+            dispatcher = new Dispatcher(Executors.newThreadPerTaskExecutor(factory));
+        } else {
+            dispatcher = new Dispatcher();
+        }
+        if (maxRequests > 0) {
+            dispatcher.setMaxRequests(maxRequests);
+        }
+        if (maxRequestsPerHost > 0) {
+            dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        }
+        return dispatcher;
+    }
+
+    /**
+     * Publishers read their responses with blocking calls, including rate limit waits and retry backoff, so
+     * their drain loops get threads of their own rather than occupying the dispatcher, whose limits only
+     * count the calls it runs itself.
+     */
+    static ExecutorService createPublisherExecutor(boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("TopGames-Publisher-", 0).factory());
+        }
+        return Executors.newCachedThreadPool(Thread.ofPlatform().name("TopGames-Publisher-", 0).daemon().factory());
+    }
+
+    /**
+     * Opens connections to the API ahead of the first calls and runs every response decoder once, so that
+     * the first calls do not pay for DNS, TCP and TLS setup or for loading the decoding classes.
+     * <p>
+     * Sends {@code connections} concurrent {@code HEAD} requests to the base URL. They carry no API key and
+     * skip rate limiting, retries and the other interceptors; their responses are discarded. Over HTTP/1.1
+     * each opens its own connection, up to the dispatcher's per-host limit; over HTTP/2 they share one.
+     * The pool keeps at most its idle limit of them, see {@link Builder#connectionPool(int, Duration)}.
+     *
+     * @return a future that completes once every warm-up request has finished. It never completes
+     * exceptionally: a failed warm-up is only logged, and the first call simply connects as usual.
+     * @see Builder#warmUp(int)
+     */
+    public CompletableFuture<Void> warmUp(int connections) {
+        if (connections < 1) {
+            throw new IllegalArgumentException("connections must be at least 1");
+        }
+        long start = System.nanoTime();
+        OkHttpClient.Builder bare = client.newBuilder();
+        bare.interceptors().clear();
+        OkHttpClient warmUpClient = bare.build();
+        Request request = new Request.Builder().url(baseUrl).head().build();
+        List<CompletableFuture<Void>> steps = new ArrayList<>(connections + 1);
+        steps.add(CompletableFuture.runAsync(this::warmUpDecoders, client.dispatcher().executorService()));
+        for (int i = 0; i < connections; i++) {
+            CompletableFuture<Void> connected = new CompletableFuture<>();
+            warmUpClient.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                    log.warn("Warm-up request to {} failed.", baseUrl, e);
+                    connected.complete(null);
+                }
+
+                @Override
+                public void onResponse(@NotNull Call call, @NotNull Response response) {
+                    response.close();
+                    connected.complete(null);
+                }
+            });
+            steps.add(connected);
+        }
+        return CompletableFuture.allOf(steps.toArray(new CompletableFuture<?>[0])).thenRun(() ->
+                log.debug("Warmed up {} connection(s) to {} in {}ms", client.connectionPool().connectionCount(),
+                        baseUrl, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    private void warmUpDecoders() {
+        warmUpDecoder(gameEndpoint, "{}");
+        warmUpDecoder(topGamesEndpoint, "[{}]");
+        warmUpDecoder(unclaimedVotesEndpoint, "{\"votes\":[{}]}");
+        warmUpDecoder(serverInfoEndpoint, "{}");
+        warmUpDecoder(serverStatsEndpoint, "{\"stats\":[{}]}");
+        warmUpDecoder(statColumnsEndpoint, "{\"stats\":[{}]}");
+        warmUpDecoder(playersRankingEndpoint, "{\"players\":[{}]}");
+        warmUpDecoder(playersLeaderboardEndpoint, "{\"players\":[{}]}");
+        warmUpDecoder(checkByUsernameEndpoint, "{}");
     }
 
+    private void warmUpDecoder(EndpointTemplate<?> endpoint, String sample) {
+        try {
+            codec.decode(ResponseBody.create(sample, JSON), endpoint.adapter());
+        } catch (IOException | RuntimeException e) {
+            log.debug("Warming up the {} decoder failed.", endpoint.endpoint(), e);
+        }
+    }
+
+    /**
+     * Releases the client's resources. A client created by a {@link TopGamesClientFactory} leaves the shared
+     * connection pool, dispatcher and cache open; they are released by closing the factory.
+     */
     @Override
     public void close() {
         log.info("Closing TopGamesClient and releasing resources.");
-        if (rateLimitInterceptor != null) {
-            rateLimitInterceptor.shutdown();
+        if (responseCache != null) {
+            responseCache.invalidateAll();
+        }
+        if (factory != null) {
+            return;
         }
+        publisherExecutor.shutdown();
         client.dispatcher().executorService().shutdown();
         client.connectionPool().evictAll();
         Cache cache = client.cache();
@@ -107,9 +416,50 @@ public class TopGamesClient implements Closeable {
         private long readTimeout = 30;
         private TimeUnit readTimeoutUnit = TimeUnit.SECONDS;
         private Cache cache = null;
+        private boolean virtualThreads = false;
+        private int maxRequests = 0;
+        private int maxRequestsPerHost = 0;
+        private int maxIdleConnections = 0;
+        private Duration keepAlive = null;
+        private boolean http2 = false;
+        private int warmUpConnections = 0;
+        private SSLSocketFactory sslSocketFactory = null;
+        private X509TrustManager trustManager = null;
+        private int claimConcurrency = 8;
+        private ClaimJournal claimJournal = null;
+        private int voteCheckBatchSize = 0;
+        private Duration voteCheckWindow = Duration.ZERO;
+        private Duration voteCheckPositiveTtl = Duration.ZERO;
+        private Duration voteCheckNegativeTtl = Duration.ZERO;
+        private int responseCacheSize = 0;
+        private Duration responseCacheTtl = Duration.ZERO;
+        private final Map<Endpoint, Duration> responseCacheTtls = new EnumMap<>(Endpoint.class);
+        private Duration refreshSoftTtl = null;
+        private Duration refreshHardTtl = null;
         private RateLimitInterceptor rateLimitInterceptor = null;
         private RetryInterceptor retryInterceptor = null;
+        private double circuitFailureRate = 0;
+        private Duration circuitSlowCall = null;
+        private Duration circuitOpenDuration = null;
+        private int initialConcurrencyLimit = 0;
+        private int maxConcurrencyLimit = 0;
+        private double hedgeQuantile = 0;
+        private int schedulerMaxConcurrent = 0;
+        private final Map<Priority, Integer> laneWeights = new EnumMap<>(Priority.class);
+        private final Map<Priority, Integer> laneLimits = new EnumMap<>(Priority.class);
+        private final Map<Endpoint, Priority> requestPriorities = new EnumMap<>(Endpoint.class);
+        private double hedgeExtraLoad = 0;
+        private MetricsListener metricsListener = MetricsListener.NONE;
         private final List<Interceptor> customInterceptors = new ArrayList<>();
+        private final TopGamesClientFactory factory;
+
+        public Builder() {
+            this.factory = null;
+        }
+
+        Builder(TopGamesClientFactory factory) {
+            this.factory = factory;
+        }
 
         public Builder apiKey(@NotNull String apiKey) {
             this.apiKey = apiKey;
@@ -131,8 +481,59 @@ public class TopGamesClient implements Closeable {
             return this;
         }
 
+        /**
+         * Enables an in-memory cache for {@link #getServerInfo()}, {@link #getFullServerInfo()},
+         * {@link #getServerStats()} and {@link #getPlayersRanking(String)}.
+         * Identical concurrent requests are coalesced into a single HTTP call even when {@code ttl} is zero.
+         *
+         * @param maxEntries the maximum number of cached responses; the least recently used is evicted beyond this.
+         * @param ttl        how long a response stays fresh, unless overridden per endpoint.
+         */
+        public Builder enableResponseCache(int maxEntries, @NotNull Duration ttl) {
+            ResponseCache.checkTtl(ttl);
+            this.responseCacheSize = maxEntries;
+            this.responseCacheTtl = ttl;
+            return this;
+        }
+
+        /**
+         * Overrides the response cache TTL for a single endpoint.
+         */
+        public Builder responseCacheTtl(@NotNull Endpoint endpoint, @NotNull Duration ttl) {
+            ResponseCache.checkTtl(ttl);
+            this.responseCacheTtls.put(endpoint, ttl);
+            return this;
+        }
+
+        /**
+         * Serves {@link #getServerInfo()} and {@link #getFullServerInfo()} from memory and refreshes them in the
+         * background. Once a value is older than {@code softTtl}, calls still return it immediately, marked stale
+         * in {@link #getServerInfoSnapshot()}, while one refresh runs asynchronously. If the refresh fails, the
+         * stale value keeps being served. Only the first call, and calls once the value is older than
+         * {@code hardTtl}, wait for the network. Takes precedence over the response cache for these endpoints.
+         */
+        public Builder refreshServerInfoAhead(@NotNull Duration softTtl, @NotNull Duration hardTtl) {
+            ResponseCache.checkTtl(softTtl);
+            ResponseCache.checkTtl(hardTtl);
+            if (softTtl.isZero() || hardTtl.compareTo(softTtl) < 0) {
+                throw new IllegalArgumentException("Soft TTL must be positive and must not exceed the hard TTL");
+            }
+            this.refreshSoftTtl = softTtl;
+            this.refreshHardTtl = hardTtl;
+            return this;
+        }
+
         public Builder rateLimit(int permits, @NotNull Duration perDuration) {
-            this.rateLimitInterceptor = new RateLimitInterceptor(permits, perDuration.toMillis(), TimeUnit.MILLISECONDS);
+            this.rateLimitInterceptor = new RateLimitInterceptor(permits, perDuration.toNanos(), TimeUnit.NANOSECONDS);
+            return this;
+        }
+
+        /**
+         * Limits requests to an average of {@code permits} per {@code perDuration}, letting up to
+         * {@code burst} requests through back-to-back after an idle period.
+         */
+        public Builder rateLimit(int permits, @NotNull Duration perDuration, int burst) {
+            this.rateLimitInterceptor = new RateLimitInterceptor(permits, perDuration.toNanos(), TimeUnit.NANOSECONDS, burst);
             return this;
         }
 
@@ -141,6 +542,278 @@ public class TopGamesClient implements Closeable {
             return this;
         }
 
+        /**
+         * Retries failed requests up to {@code maxRetries} times with exponential backoff and full jitter.
+         * Each delay is drawn uniformly between zero and {@code initialDelay * 2^(attempt - 1)}, capped at {@code maxDelay}.
+         */
+        public Builder enableRetries(int maxRetries, @NotNull Duration initialDelay, @NotNull Duration maxDelay) {
+            this.retryInterceptor = new RetryInterceptor(maxRetries, initialDelay.toMillis(), maxDelay.toMillis());
+            return this;
+        }
+
+        /**
+         * Fails calls fast while the API is unhealthy. The outcomes of the last 20 attempts are tracked; an
+         * attempt fails if it throws a network error, gets a 5xx response, or takes {@code slowCallThreshold}
+         * or longer. Once at least 10 attempts are recorded and the share of failures reaches
+         * {@code failureRateThreshold}, the circuit opens and calls fail with a {@link TopGamesException} caused
+         * by a {@link CallRejectedException}, without a request being sent. After {@code openDuration}, three
+         * probe attempts are let through; the circuit closes if all of them succeed and opens again otherwise.
+         *
+         * @param failureRateThreshold the share of failed attempts, in (0, 1], that opens the circuit.
+         * @see TopGamesClient#getCircuitState()
+         */
+        public Builder circuitBreaker(double failureRateThreshold, @NotNull Duration slowCallThreshold,
+                                      @NotNull Duration openDuration) {
+            if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+                throw new IllegalArgumentException("Failure rate threshold must be in (0, 1]");
+            }
+            ResponseCache.checkTtl(openDuration);
+            if (slowCallThreshold.isNegative() || slowCallThreshold.isZero()) {
+                throw new IllegalArgumentException("Slow call threshold must be positive");
+            }
+            this.circuitFailureRate = failureRateThreshold;
+            this.circuitSlowCall = slowCallThreshold;
+            this.circuitOpenDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * Limits the number of attempts in flight, starting at {@code initialLimit} and adapting between 1 and
+         * {@code maxLimit}: the limit grows slowly while responses are fast and the limit is in use, and shrinks
+         * by 10%, at most once per round trip, when attempts fail or when the smoothed latency shows requests
+         * queuing at the API, e.g. more than twice the lowest recent latency with the whole limit in use. Latency
+         * jitter of a few attempts in flight does not shrink it. Attempts over the limit fail immediately with
+         * a {@link TopGamesException} caused by a {@link CallRejectedException} instead of queuing behind a
+         * slow API.
+         *
+         * @see TopGamesClient#getConcurrencyLimit()
+         */
+        public Builder adaptiveConcurrencyLimit(int initialLimit, int maxLimit) {
+            if (initialLimit < 1 || maxLimit < initialLimit) {
+                throw new IllegalArgumentException("initialLimit must be at least 1 and must not exceed maxLimit");
+            }
+            this.initialConcurrencyLimit = initialLimit;
+            this.maxConcurrencyLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Hedges read-only calls: if an attempt has no response after the endpoint's {@code latencyQuantile}
+         * latency, e.g. {@code 0.95} for p95, a second copy is sent and whichever answers first is used; the
+         * other is cancelled. Hedges are limited to about {@code maxExtraLoad} of the calls, e.g. {@code 0.05}
+         * for 5% extra requests, and are only sent if the rate limit has a permit available right away.
+         * Nothing is hedged until 50 calls to the endpoint have been timed. The claim endpoints are never
+         * hedged, since claiming changes state.
+         */
+        public Builder hedgeRequests(double latencyQuantile, double maxExtraLoad) {
+            if (!(latencyQuantile > 0 && latencyQuantile < 1)) {
+                throw new IllegalArgumentException("latencyQuantile must be between 0 and 1");
+            }
+            if (!(maxExtraLoad > 0 && maxExtraLoad <= 1)) {
+                throw new IllegalArgumentException("maxExtraLoad must be in (0, 1]");
+            }
+            this.hedgeQuantile = latencyQuantile;
+            this.hedgeExtraLoad = maxExtraLoad;
+            return this;
+        }
+
+        /**
+         * Schedules requests by {@link Priority}, so latency-critical calls do not wait behind bulk work.
+         * At most {@code maxConcurrent} attempts are in flight; further attempts wait in one queue per
+         * priority, and free slots and rate limit permits are handed out in weighted fair order. By default
+         * the weights are 16, 4 and 1 for interactive, normal and background requests, and normal and
+         * background requests may use at most 3/4 and 1/4 of the slots, leaving room for interactive ones.
+         * Vote checks and claims are interactive; stats, rankings and full server info are background work.
+         * The time each attempt waited is reported to {@link MetricsListener#queueWaited(Priority, long)}.
+         *
+         * @see #priorityLane(Priority, int, int)
+         * @see #requestPriority(Endpoint, Priority)
+         */
+        public Builder priorityScheduling(int maxConcurrent) {
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException("maxConcurrent must be at least 1");
+            }
+            this.schedulerMaxConcurrent = maxConcurrent;
+            return this;
+        }
+
+        /**
+         * Overrides the weight and concurrency cap of one priority lane of
+         * {@link #priorityScheduling(int)}. A lane with twice the weight gets twice the share of slots
+         * and rate limit permits while several lanes have work waiting.
+         */
+        public Builder priorityLane(@NotNull Priority priority, int weight, int maxConcurrent) {
+            if (weight < 1 || maxConcurrent < 1) {
+                throw new IllegalArgumentException("weight and maxConcurrent must be at least 1");
+            }
+            this.laneWeights.put(priority, weight);
+            this.laneLimits.put(priority, maxConcurrent);
+            return this;
+        }
+
+        /**
+         * Sets the priority of an endpoint's requests under {@link #priorityScheduling(int)}.
+         */
+        public Builder requestPriority(@NotNull Endpoint endpoint, @NotNull Priority priority) {
+            this.requestPriorities.put(endpoint, Objects.requireNonNull(priority, "Priority must not be null"));
+            return this;
+        }
+
+        /**
+         * Runs asynchronous calls and their callbacks on a virtual-thread-per-task executor instead of
+         * OkHttp's platform thread pool. Combine with {@link #maxRequests(int)} and
+         * {@link #maxRequestsPerHost(int)} to allow many more calls in flight.
+         */
+        public Builder useVirtualThreads() {
+            this.virtualThreads = true;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of asynchronous calls executing at once (OkHttp default: 64).
+         * Further calls wait in the dispatcher queue.
+         */
+        public Builder maxRequests(int maxRequests) {
+            if (maxRequests < 1) {
+                throw new IllegalArgumentException("maxRequests must be at least 1");
+            }
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of asynchronous calls executing at once against the API host (OkHttp default: 5).
+         */
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            if (maxRequestsPerHost < 1) {
+                throw new IllegalArgumentException("maxRequestsPerHost must be at least 1");
+            }
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Sizes the connection pool (OkHttp default: 5 idle connections, each kept for 5 minutes). A
+         * keep-alive longer than the usual gap between calls spares each call a new TCP and TLS handshake.
+         *
+         * @param maxIdleConnections how many idle connections to keep open.
+         * @param keepAlive          how long an idle connection is kept before it is closed.
+         */
+        public Builder connectionPool(int maxIdleConnections, @NotNull Duration keepAlive) {
+            checkConnectionPool(maxIdleConnections, keepAlive);
+            this.maxIdleConnections = maxIdleConnections;
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        static void checkConnectionPool(int maxIdleConnections, Duration keepAlive) {
+            if (maxIdleConnections < 1) {
+                throw new IllegalArgumentException("maxIdleConnections must be at least 1");
+            }
+            Objects.requireNonNull(keepAlive, "Keep-alive must not be null");
+            if (keepAlive.isNegative() || keepAlive.isZero()) {
+                throw new IllegalArgumentException("Keep-alive must be positive");
+            }
+        }
+
+        /**
+         * Multiplexes calls over one HTTP/2 connection instead of opening a connection per concurrent call.
+         * <p>
+         * Over HTTPS, HTTP/2 is negotiated during the TLS handshake, as OkHttp does by default, with a
+         * fallback to HTTP/1.1. What changes is that {@link #maxRequestsPerHost(int)}, unless set, defaults
+         * to {@link #maxRequests(int)}: its default of 5 exists to bound HTTP/1.1 connections. Over plain
+         * HTTP there is nothing to negotiate with, so HTTP/2 is spoken directly and the server must support it.
+         */
+        public Builder preferHttp2() {
+            this.http2 = true;
+            return this;
+        }
+
+        /**
+         * Starts {@link TopGamesClient#warmUp(int)} in the background when the client is built, so that the
+         * first calls at startup find open connections.
+         *
+         * @param connections how many connections to open.
+         */
+        public Builder warmUp(int connections) {
+            if (connections < 1) {
+                throw new IllegalArgumentException("connections must be at least 1");
+            }
+            this.warmUpConnections = connections;
+            return this;
+        }
+
+        /**
+         * Trusts the given certificates instead of the platform's, for tests and benchmarks against a local
+         * TLS server.
+         */
+        Builder sslSocketFactory(SSLSocketFactory sslSocketFactory, X509TrustManager trustManager) {
+            this.sslSocketFactory = sslSocketFactory;
+            this.trustManager = trustManager;
+            return this;
+        }
+
+        /**
+         * Sets how many claims {@link #claimVotesByUsername(Collection)} and
+         * {@link #claimVotesBySteamId(Collection)} keep in flight at once. Defaults to 8.
+         */
+        public Builder claimConcurrency(int claimConcurrency) {
+            if (claimConcurrency < 1) {
+                throw new IllegalArgumentException("claimConcurrency must be at least 1");
+            }
+            this.claimConcurrency = claimConcurrency;
+            return this;
+        }
+
+        /**
+         * Records claims made through {@link #claimVoteAsync(Vote)} in the given journal, so a vote is claimed
+         * at most once across restarts. The client does not close the journal.
+         */
+        public Builder claimJournal(@NotNull ClaimJournal claimJournal) {
+            this.claimJournal = Objects.requireNonNull(claimJournal, "Claim journal must not be null");
+            return this;
+        }
+
+        /**
+         * Batches {@link #checkVoteByUsernameAsync(String)}, {@link #checkVoteByIPAsync(String)} and
+         * {@link #checkVoteByIP(String)}: checks are collected for up to {@code window} or until
+         * {@code maxBatchSize} distinct keys are queued, then sent together. Identical usernames or IPs
+         * queued or in flight at the same time share a single HTTP call.
+         */
+        public Builder batchVoteChecks(@NotNull Duration window, int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize must be at least 1");
+            }
+            ResponseCache.checkTtl(window);
+            this.voteCheckWindow = window;
+            this.voteCheckBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Keeps batched vote check results for a short time, so repeated checks are answered from memory.
+         * Only applies together with {@link #batchVoteChecks(Duration, int)}.
+         *
+         * @param positiveTtl how long a "has voted" result is reused.
+         * @param negativeTtl how long a "has not voted" result is reused; usually shorter, so new votes show up quickly.
+         */
+        public Builder voteCheckResultTtl(@NotNull Duration positiveTtl, @NotNull Duration negativeTtl) {
+            ResponseCache.checkTtl(positiveTtl);
+            ResponseCache.checkTtl(negativeTtl);
+            this.voteCheckPositiveTtl = positiveTtl;
+            this.voteCheckNegativeTtl = negativeTtl;
+            return this;
+        }
+
+        /**
+         * Reports latency, retries, rate limit waits, response sizes and decode times of every call to the
+         * given listener. Use {@link ClientMetrics} to keep them in memory.
+         */
+        public Builder metricsListener(@NotNull MetricsListener metricsListener) {
+            this.metricsListener = Objects.requireNonNull(metricsListener, "Metrics listener must not be null");
+            return this;
+        }
+
         public Builder addInterceptor(@NotNull Interceptor interceptor) {
             this.customInterceptors.add(interceptor);
             return this;
@@ -148,54 +821,166 @@ public class TopGamesClient implements Closeable {
 
         public TopGamesClient build() {
             Objects.requireNonNull(apiKey, "API key must be set");
-            customInterceptors.add(chain -> {
-                Request original = chain.request();
-                Request authenticated = original.newBuilder()
-                        .header("Authorization", "Bearer " + apiKey)
-                        .header("Accept", "application/json")
-                        .build();
-                return chain.proceed(authenticated);
-            });
+            if (factory != null && (cache != null || virtualThreads || maxRequests > 0 || maxRequestsPerHost > 0
+                    || maxIdleConnections > 0 || http2)) {
+                throw new IllegalStateException("The HTTP cache, virtual threads, dispatcher limits, connection pool "
+                        + "and HTTP/2 are set on the TopGamesClientFactory");
+            }
             return new TopGamesClient(this);
         }
     }
 
-    private <T> T execute(Request request, Type typeOfT) throws TopGamesException {
-        log.debug("Executing synchronous request: {} {}", request.method(), request.url());
-        try (Response response = client.newCall(request).execute()) {
-            return handleResponse(response, typeOfT);
+    private <T> T execute(EndpointTemplate<T> endpoint, HttpUrl url) throws TopGamesException {
+        return execute(endpoint, url, new CallContext(endpoint.endpoint(), false, metrics));
+    }
+
+    private <T> T execute(EndpointTemplate<T> endpoint, HttpUrl url, Duration timeout) throws TopGamesException {
+        return execute(endpoint, url, new CallContext(endpoint.endpoint(), false, metrics, timeoutNanos(timeout)));
+    }
+
+    private <T> T execute(EndpointTemplate<T> endpoint, HttpUrl url, CallContext context) throws TopGamesException {
+        Request request = endpoint.request(url, context);
+        log.debug("Executing synchronous request: {} {}", request.method(), url);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Response response = send(endpoint, url, context, request, null);
+            try (response) {
+                T result = handleResponse(response, endpoint.adapter());
+                success = true;
+                return result;
+            }
         } catch (IOException e) {
-            log.error("Network error for request: {}", request.url(), e);
+            log.error("Network error for request: {}", url, e);
             throw new TopGamesException("Network error occurred", e);
+        } finally {
+            metrics.callCompleted(context.endpoint(), System.nanoTime() - start, success);
         }
     }
 
-    private <T> CompletableFuture<T> executeAsync(Request request, Type typeOfT) {
-        log.debug("Executing asynchronous request: {} {}", request.method(), request.url());
-        CompletableFuture<T> future = new CompletableFuture<>();
-        client.newCall(request).enqueue(new Callback() {
-            @Override
-            public void onFailure(@NotNull Call call, @NotNull IOException e) {
-                log.error("Async network error for request: {}", request.url(), e);
-                future.completeExceptionally(new TopGamesException("Network error occurred", e));
+    /**
+     * Sends a synchronous request, waiting for the scheduler first if there is one. The scheduler slot is
+     * freed once the response headers have arrived.
+     *
+     * @param started notified of the call before it is sent, so that it can be cancelled; may be {@code null}.
+     */
+    private Response send(EndpointTemplate<?> endpoint, HttpUrl url, CallContext context, Request request,
+                          Consumer<Call> started) throws TopGamesException, IOException {
+        if (scheduler != null) {
+            scheduler.await(context);
+        }
+        try {
+            Call call = client.newCall(request);
+            if (started != null) {
+                started.accept(call);
             }
+            if (context.hasDeadline()) {
+                // OkHttp's call timeout spans every interceptor, so it also bounds retries and permit waits.
+                call.timeout().timeout(Math.max(1, context.remainingNanos()), TimeUnit.NANOSECONDS);
+            }
+            return isHedged(endpoint)
+                    ? hedging.execute(client, call, context.endpoint(), () -> hedgeRequest(endpoint, url))
+                    : call.execute();
+        } finally {
+            if (scheduler != null) {
+                scheduler.release(context);
+            }
+        }
+    }
 
-            @Override
-            public void onResponse(@NotNull Call call, @NotNull Response response) {
-                try {
-                    T result = handleResponse(response, typeOfT);
-                    future.complete(result);
-                } catch (Exception e) {
-                    future.completeExceptionally(e);
-                } finally {
-                    response.close();
-                }
+    private <T> CompletableFuture<T> executeAsync(EndpointTemplate<T> endpoint, HttpUrl url) {
+        return executeAsync(endpoint, url, new CallContext(endpoint.endpoint(), true, metrics));
+    }
+
+    private <T> CompletableFuture<T> executeAsync(EndpointTemplate<T> endpoint, HttpUrl url, Duration timeout) {
+        return executeAsync(endpoint, url, new CallContext(endpoint.endpoint(), true, metrics, timeoutNanos(timeout)));
+    }
+
+    private <T> CompletableFuture<T> executeAsync(EndpointTemplate<T> endpoint, HttpUrl url, CallContext context) {
+        Request request = endpoint.request(url, context);
+        log.debug("Executing asynchronous request: {} {}", request.method(), url);
+        return new AsyncCall<T>(client, request, context, rateLimitInterceptor, retryInterceptor, scheduler,
+                isHedged(endpoint) ? hedging : null, isHedged(endpoint) ? () -> hedgeRequest(endpoint, url) : null,
+                response -> handleResponse(response, endpoint.adapter())).start();
+    }
+
+    /**
+     * Like {@link CompletableFuture#thenApply}, except that cancelling the result also cancels {@code call}:
+     * a plain dependent stage does not pass cancellation back to the request it derives from.
+     */
+    private static <T, R> CompletableFuture<R> mapResult(CompletableFuture<T> call, Function<T, R> mapper) {
+        CompletableFuture<R> result = call.thenApply(mapper);
+        result.whenComplete((ignored, error) -> {
+            if (result.isCancelled()) {
+                call.cancel(false);
             }
         });
-        return future;
+        return result;
     }
 
-    private <T> T handleResponse(Response response, Type typeOfT) throws TopGamesException, IOException {
+    private static long timeoutNanos(Duration timeout) {
+        Objects.requireNonNull(timeout, "Timeout must not be null");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        return timeout.toNanos();
+    }
+
+    /**
+     * Sends a request and returns the successful response with its body unread, for incremental decoding.
+     * The caller closes the response.
+     *
+     * @param started notified of the call before it is sent; cancelling it aborts the request and the body.
+     */
+    Response open(EndpointTemplate<?> endpoint, HttpUrl url, Consumer<Call> started) throws TopGamesException {
+        CallContext context = new CallContext(endpoint.endpoint(), false, metrics);
+        Request request = endpoint.request(url, context);
+        log.debug("Opening streaming request: {} {}", request.method(), url);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Response response = send(endpoint, url, context, request, started);
+            if (!response.isSuccessful()) {
+                try (response) {
+                    handleResponse(response, null);
+                }
+            }
+            success = true;
+            return response;
+        } catch (IOException e) {
+            log.error("Network error for request: {}", url, e);
+            throw new TopGamesException("Network error occurred", e);
+        } finally {
+            metrics.callCompleted(context.endpoint(), System.nanoTime() - start, success);
+        }
+    }
+
+    String apiKey() {
+        return apiKey;
+    }
+
+    JsonCodec codec() {
+        return codec;
+    }
+
+    private boolean isHedged(EndpointTemplate<?> endpoint) {
+        return hedging != null && hedging.applies(endpoint.endpoint());
+    }
+
+    /**
+     * Creates the request of a hedge. Its rate limit permit was already taken by the hedging policy,
+     * and it is not retried on its own.
+     */
+    private Request hedgeRequest(EndpointTemplate<?> endpoint, HttpUrl url) {
+        CallContext context = new CallContext(endpoint.endpoint(), true, metrics);
+        context.prepayPermit();
+        return endpoint.request(url, context);
+    }
+
+    /**
+     * Checks the status and decodes the body with the given adapter, or skips decoding if it is {@code null}.
+     */
+    <T> T handleResponse(Response response, TypeAdapter<T> adapter) throws TopGamesException, IOException {
         if (!response.isSuccessful()) {
             String errorBody = response.body() != null ? response.body().string() : "No error body";
             log.warn("API Error on {}: {} - {}", response.request().url(), response.code(), errorBody);
@@ -203,196 +988,552 @@ public class TopGamesClient implements Closeable {
         }
 
         log.debug("Successfully received response for: {}", response.request().url());
+        if (adapter == null) {
+            return null;
+        }
         if (response.body() == null) {
-            if (typeOfT == Void.class) {
-                return null;
-            }
             throw new TopGamesException("Response body is null");
         }
 
+        CallContext context = response.request().tag(CallContext.class);
         try {
-            return gson.fromJson(response.body().string(), typeOfT);
-        } catch (JsonSyntaxException e) {
+            if (context == null || context.metrics() == MetricsListener.NONE) {
+                return codec.decode(response.body(), adapter);
+            }
+            long start = System.nanoTime();
+            CountingSource counted = new CountingSource(response.body().source());
+            T result = codec.decode(counted.asBody(response.body()), adapter);
+            boolean fromCache = response.cacheResponse() != null && response.networkResponse() == null;
+            context.metrics().responseDecoded(context.endpoint(), counted.bytesRead(), System.nanoTime() - start, fromCache);
+            return result;
+        } catch (JsonParseException e) {
             log.error("Failed to parse JSON for request: {}", response.request().url(), e);
             throw new TopGamesException("Failed to parse JSON response", e);
         }
     }
 
+    /**
+     * @return The compiled template of the given endpoint.
+     */
+    EndpointTemplate<?> template(Endpoint endpoint) {
+        return switch (endpoint) {
+            case GAME -> gameEndpoint;
+            case TOP_GAMES -> topGamesEndpoint;
+            case UNCLAIMED_VOTES -> unclaimedVotesEndpoint;
+            case CLAIM_VOTE_BY_USERNAME -> claimByUsernameEndpoint;
+            case CLAIM_VOTE_BY_STEAM_ID -> claimBySteamIdEndpoint;
+            case CHECK_VOTE_BY_IP -> checkByIPEndpoint;
+            case CHECK_VOTE_BY_USERNAME -> checkByUsernameEndpoint;
+            case SERVER_INFO -> serverInfoEndpoint;
+            case FULL_SERVER_INFO -> fullServerInfoEndpoint;
+            case SERVER_STATS -> serverStatsEndpoint;
+            case PLAYERS_RANKING -> playersRankingEndpoint;
+        };
+    }
+
+    private <T> T cached(Endpoint endpoint, String argument, ResponseCache.Loader<T> loader) throws TopGamesException {
+        return responseCache != null ? responseCache.get(endpoint, argument, loader) : loader.load();
+    }
+
+    /**
+     * Returns the counters of the in-memory response cache.
+     * All counters are zero if {@link Builder#enableResponseCache(int, Duration)} was not used.
+     */
+    public CacheStats getResponseCacheStats() {
+        return responseCache != null ? responseCache.stats() : new CacheStats(0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Returns the current state of the circuit breaker, or {@link CircuitState#CLOSED} if
+     * {@link Builder#circuitBreaker(double, Duration, Duration)} was not used.
+     */
+    public CircuitState getCircuitState() {
+        return circuitBreaker != null ? circuitBreaker.state() : CircuitState.CLOSED;
+    }
+
+    /**
+     * Returns the current adaptive concurrency limit, or {@code 0} if
+     * {@link Builder#adaptiveConcurrencyLimit(int, int)} was not used.
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimit != null ? concurrencyLimit.limit() : 0;
+    }
+
     public Game getGame(String id) throws TopGamesException {
-        HttpUrl url = baseUrl.newBuilder().addPathSegment("games").addPathSegment(id).build();
-        Request request = new Request.Builder().url(url).get().build();
-        return execute(request, Game.class);
+        return execute(gameEndpoint, gameUrl(id));
+    }
+
+    /**
+     * Like {@link #getGame(String)}, but fails once {@code timeout} has passed. The timeout covers the whole
+     * call: waiting to be scheduled, rate limit permits, every attempt and the backoff between them. No
+     * retry is started that could not finish in time.
+     */
+    public Game getGame(String id, @NotNull Duration timeout) throws TopGamesException {
+        return execute(gameEndpoint, gameUrl(id), timeout);
     }
 
+    /**
+     * Cancelling the returned future cancels the request, including any pending retry.
+     */
     public CompletableFuture<Game> getGameAsync(String id) {
-        HttpUrl url = baseUrl.newBuilder().addPathSegment("games").addPathSegment(id).build();
-        Request request = new Request.Builder().url(url).get().build();
-        return executeAsync(request, Game.class);
+        return executeAsync(gameEndpoint, gameUrl(id));
+    }
+
+    /**
+     * Like {@link #getGameAsync(String)}, but completes exceptionally with a {@link TopGamesException}
+     * caused by a {@link java.util.concurrent.TimeoutException} once {@code timeout} has passed, cancelling
+     * the request in flight. The timeout covers the whole call, as in {@link #getGame(String, Duration)}.
+     */
+    public CompletableFuture<Game> getGameAsync(String id, @NotNull Duration timeout) {
+        return executeAsync(gameEndpoint, gameUrl(id), timeout);
+    }
+
+    HttpUrl gameUrl(String id) {
+        return gameEndpoint.withPathSegment(id);
     }
 
     public List<Game> getTopGames(int limit, int offset) throws TopGamesException {
-        HttpUrl url = baseUrl.newBuilder()
-                .addPathSegment("games")
-                .addPathSegment("top")
-                .addQueryParameter("limit", String.valueOf(limit))
-                .addQueryParameter("offset", String.valueOf(offset))
-                .build();
-        Request request = new Request.Builder().url(url).get().build();
-        Type listType = new TypeToken<List<Game>>() {}.getType();
-        return execute(request, listType);
+        return execute(topGamesEndpoint, topGamesUrl(limit, offset));
+    }
+
+    /**
+     * @see #getGame(String, Duration)
+     */
+    public List<Game> getTopGames(int limit, int offset, @NotNull Duration timeout) throws TopGamesException {
+        return execute(topGamesEndpoint, topGamesUrl(limit, offset), timeout);
     }
 
     public CompletableFuture<List<Game>> getTopGamesAsync(int limit, int offset) {
-        HttpUrl url = baseUrl.newBuilder()
-                .addPathSegment("games")
-                .addPathSegment("top")
-                .addQueryParameter("limit", String.valueOf(limit))
-                .addQueryParameter("offset", String.valueOf(offset))
-                .build();
-        Request request = new Request.Builder().url(url).get().build();
-        Type listType = new TypeToken<List<Game>>() {}.getType();
-        return executeAsync(request, listType);
+        return executeAsync(topGamesEndpoint, topGamesUrl(limit, offset));
+    }
+
+    /**
+     * @see #getGameAsync(String, Duration)
+     */
+    public CompletableFuture<List<Game>> getTopGamesAsync(int limit, int offset, @NotNull Duration timeout) {
+        return executeAsync(topGamesEndpoint, topGamesUrl(limit, offset), timeout);
+    }
+
+    HttpUrl topGamesUrl(int limit, int offset) {
+        return topGamesEndpoint.withQueryParameters("limit", String.valueOf(limit), "offset", String.valueOf(offset));
+    }
+
+    /**
+     * Streams the top games, fetching {@code pageSize} games per request as the stream is consumed.
+     * The next page is prefetched asynchronously while the current one is processed, and the stream
+     * ends at the first short page. Close the stream to abandon a prefetch when stopping early.
+     * API failures are thrown as a {@link java.util.concurrent.CompletionException} wrapping a {@link TopGamesException}.
+     */
+    public Stream<Game> streamTopGames(int pageSize) {
+        PageIterator<Game> pages = new PageIterator<>(this::getTopGamesAsync, pageSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED), false)
+                .onClose(pages::close);
+    }
+
+    /**
+     * Publishes the games of {@link #getTopGames(int, int)}, page by page, as they are decoded. A page is only
+     * requested once the previous one is consumed and the subscriber asks for more; a short page ends the
+     * stream. Each subscription starts again from the first page.
+     */
+    public Flow.Publisher<Game> publishTopGames(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return new JsonArrayPublisher<>(
+                (page, started) -> open(topGamesEndpoint, topGamesUrl(pageSize, page * pageSize), started),
+                pageSize, null, codec.gson().getAdapter(Game.class), codec, publisherExecutor);
     }
 
     public List<Vote> getUnclaimedVotes() throws TopGamesException {
-         HttpUrl url = baseUrl.newBuilder()
-                .addPathSegment("votes")
-                .addPathSegment("last")
-                .addQueryParameter("server_token", this.apiKey)
-                .build();
+        ApiResponse<List<Vote>> response = execute(unclaimedVotesEndpoint, unclaimedVotesUrl());
+        return response.getData();
+    }
 
-        Request request = new Request.Builder().url(url).get().build();
-        
-        Type responseType = new TypeToken<ApiResponse<List<Vote>>>() {}.getType();
-        ApiResponse<List<Vote>> response = execute(request, responseType);
+    /**
+     * @see #getGame(String, Duration)
+     */
+    public List<Vote> getUnclaimedVotes(@NotNull Duration timeout) throws TopGamesException {
+        ApiResponse<List<Vote>> response = execute(unclaimedVotesEndpoint, unclaimedVotesUrl(), timeout);
         return response.getData();
     }
 
     public CompletableFuture<List<Vote>> getUnclaimedVotesAsync() {
-         HttpUrl url = baseUrl.newBuilder()
-                .addPathSegment("votes")
-                .addPathSegment("last")
-                .addQueryParameter("server_token", this.apiKey)
-                .build();
-        Request request = new Request.Builder().url(url).get().build();
-        
-        Type responseType = new TypeToken<ApiResponse<List<Vote>>>() {}.getType();
-        CompletableFuture<ApiResponse<List<Vote>>> future = executeAsync(request, responseType);
-        return future.thenApply(response -> response.getData());
+        CompletableFuture<ApiResponse<List<Vote>>> future = executeAsync(unclaimedVotesEndpoint, unclaimedVotesUrl());
+        return mapResult(future, response -> response.getData());
+    }
+
+    /**
+     * @see #getGameAsync(String, Duration)
+     */
+    public CompletableFuture<List<Vote>> getUnclaimedVotesAsync(@NotNull Duration timeout) {
+        CompletableFuture<ApiResponse<List<Vote>>> future =
+                executeAsync(unclaimedVotesEndpoint, unclaimedVotesUrl(), timeout);
+        return mapResult(future, response -> response.getData());
+    }
+
+    /**
+     * Publishes the unclaimed votes one at a time as they are decoded from the response, reading only as
+     * far as the subscriber's demand. Each subscription sends its own request.
+     */
+    public Flow.Publisher<Vote> publishUnclaimedVotes() {
+        return new JsonArrayPublisher<>((page, started) -> open(unclaimedVotesEndpoint, unclaimedVotesUrl(), started), 0, "votes",
+                codec.gson().getAdapter(Vote.class), codec, publisherExecutor);
+    }
+
+    HttpUrl unclaimedVotesUrl() {
+        return unclaimedVotesEndpoint.url();
     }
 
     public void claimVote(String voteId) throws TopGamesException {
         throw new UnsupportedOperationException("Use claimVoteByUsername or claimVoteBySteamId instead.");
     }
     
+    /**
+     * Claims a vote by its player's username. With a {@link Builder#claimJournal(ClaimJournal) claim journal},
+     * the claim is journaled and skipped if the vote was already claimed or is being claimed. A vote whose
+     * claim was in flight when an earlier run stopped fails with a {@link ClaimInDoubtException} as the cause.
+     *
+     * @return {@code true} if the vote was claimed by this call, {@code false} if it was skipped.
+     */
+    public boolean claimVote(@NotNull Vote vote) throws TopGamesException {
+        try {
+            return claimVoteAsync(vote).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TopGamesException("Interrupted while claiming vote", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof TopGamesException) {
+                throw new TopGamesException(cause.getMessage(), cause);
+            }
+            throw new TopGamesException("Vote claim failed", cause);
+        }
+    }
+
+    /**
+     * See {@link #claimVote(Vote)}. With a journal, the future completes once the claim is durable.
+     */
+    public CompletableFuture<Boolean> claimVoteAsync(@NotNull Vote vote) {
+        if (claimJournal == null) {
+            return claimVoteByUsernameAsync(vote.getUsername()).thenApply(ignored -> true);
+        }
+        String id = VotePoller.key(vote);
+        CompletableFuture<Void> seen;
+        try {
+            seen = claimJournal.begin(id);
+        } catch (ClaimInDoubtException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (seen == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return seen.thenCompose(ignored -> claimVoteByUsernameAsync(vote.getUsername()))
+                .handle((ignored, error) -> claimJournal.end(id, error == null).thenApply(durable -> {
+                    if (error != null) {
+                        throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                    }
+                    return true;
+                }))
+                .thenCompose(result -> result);
+    }
+
     public void claimVoteByUsername(String username) throws TopGamesException {
-        HttpUrl url = baseUrl.newBuilder()
-                .addPathSegment("votes")
-                .addPathSegment("claim-username")
-                .addQueryParameter("server_token", this.apiKey)
-                .addQueryParameter("playername", username)
-                .build();
-        
-        Request request = new Request.Builder().url(url).get().build();
-        execute(request, Void.class);
+        execute(claimByUsernameEndpoint, claimByUsernameUrl(username));
+    }
+
+    /**
+     * @see #getGame(String, Duration)
+     */
+    public void claimVoteByUsername(String username, @NotNull Duration timeout) throws TopGamesException {
+        execute(claimByUsernameEndpoint, claimByUsernameUrl(username), timeout);
+    }
+
+    public CompletableFuture<Void> claimVoteByUsernameAsync(String username) {
+        return executeAsync(claimByUsernameEndpoint, claimByUsernameUrl(username));
+    }
+
+    /**
+     * @see #getGameAsync(String, Duration)
+     */
+    public CompletableFuture<Void> claimVoteByUsernameAsync(String username, @NotNull Duration timeout) {
+        return executeAsync(claimByUsernameEndpoint, claimByUsernameUrl(username), timeout);
+    }
+
+    HttpUrl claimByUsernameUrl(String username) {
+        return claimByUsernameEndpoint.withQueryParameter("playername", username);
     }
 
     public void claimVoteBySteamId(String steamId) throws TopGamesException {
-        HttpUrl url = baseUrl.newBuilder()
-                .addPathSegment("votes")
-                .addPathSegment("claim-steam")
-                .addQueryParameter("server_token", this.apiKey)
-                .addQueryParameter("steam_id", steamId)
-                .build();
+        execute(claimBySteamIdEndpoint, claimBySteamIdUrl(steamId));
+    }
+
+    /**
+     * @see #getGame(String, Duration)
+     */
+    public void claimVoteBySteamId(String steamId, @NotNull Duration timeout) throws TopGamesException {
+        execute(claimBySteamIdEndpoint, claimBySteamIdUrl(steamId), timeout);
+    }
+
+    public CompletableFuture<Void> claimVoteBySteamIdAsync(String steamId) {
+        return executeAsync(claimBySteamIdEndpoint, claimBySteamIdUrl(steamId));
+    }
+
+    /**
+     * @see #getGameAsync(String, Duration)
+     */
+    public CompletableFuture<Void> claimVoteBySteamIdAsync(String steamId, @NotNull Duration timeout) {
+        return executeAsync(claimBySteamIdEndpoint, claimBySteamIdUrl(steamId), timeout);
+    }
+
+    HttpUrl claimBySteamIdUrl(String steamId) {
+        return claimBySteamIdEndpoint.withQueryParameter("steam_id", steamId);
+    }
+
+    /**
+     * Claims the votes of many players, keeping up to {@link Builder#claimConcurrency(int)} claims in flight.
+     * Claims go through the client's rate limiter and retry policy like any other call. A failed claim is
+     * reported in the result map and does not stop the others.
+     *
+     * @return one result per distinct username, in input order.
+     */
+    public Map<String, ClaimResult> claimVotesByUsername(Collection<String> usernames) throws TopGamesException {
+        return awaitBulk(claimVotesByUsernameAsync(usernames));
+    }
+
+    public CompletableFuture<Map<String, ClaimResult>> claimVotesByUsernameAsync(Collection<String> usernames) {
+        return BulkClaim.run(usernames, claimConcurrency, this::claimVoteByUsernameAsync);
+    }
+
+    /**
+     * Claims the votes of many players by Steam ID. See {@link #claimVotesByUsername(Collection)}.
+     *
+     * @return one result per distinct Steam ID, in input order.
+     */
+    public Map<String, ClaimResult> claimVotesBySteamId(Collection<String> steamIds) throws TopGamesException {
+        return awaitBulk(claimVotesBySteamIdAsync(steamIds));
+    }
 
-        Request request = new Request.Builder().url(url).get().build();
-        execute(request, Void.class);
+    public CompletableFuture<Map<String, ClaimResult>> claimVotesBySteamIdAsync(Collection<String> steamIds) {
+        return BulkClaim.run(steamIds, claimConcurrency, this::claimVoteBySteamIdAsync);
+    }
+
+    private static Map<String, ClaimResult> awaitBulk(CompletableFuture<Map<String, ClaimResult>> bulk) throws TopGamesException {
+        try {
+            return bulk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TopGamesException("Interrupted while claiming votes", e);
+        } catch (ExecutionException e) {
+            throw new TopGamesException("Bulk claim failed", e.getCause());
+        }
     }
 
     public Server getServerInfo() throws TopGamesException {
-        HttpUrl url = baseUrl.newBuilder()
-                .addPathSegment("servers")
-                .addPathSegment(this.apiKey)
-                .build();
-        Request request = new Request.Builder().url(url).get().build();
-        Type responseType = new TypeToken<ApiResponse<Server>>() {}.getType();
-        ApiResponse<Server> response = execute(request, responseType);
+        if (serverInfoRefresh != null) {
+            return serverInfoRefresh.get().getServer();
+        }
+        return cached(Endpoint.SERVER_INFO, null, this::fetchServerInfo);
+    }
+
+    /**
+     * Like {@link #getServerInfo()}, but also tells how old the information is and whether it is stale.
+     * Only {@link Builder#refreshServerInfoAhead(Duration, Duration)} serves stale information.
+     */
+    public ServerSnapshot getServerInfoSnapshot() throws TopGamesException {
+        if (serverInfoRefresh != null) {
+            return serverInfoRefresh.get();
+        }
+        return new ServerSnapshot(getServerInfo(), Instant.now(), false);
+    }
+
+    private Server fetchServerInfo() throws TopGamesException {
+        ApiResponse<Server> response = execute(serverInfoEndpoint, serverInfoUrl());
         return response.getData();
     }
 
+    HttpUrl serverInfoUrl() {
+        return serverInfoEndpoint.url();
+    }
+
     public Server getFullServerInfo() throws TopGamesException {
-        HttpUrl url = baseUrl.newBuilder()
-                .addPathSegment("servers")
-                .addPathSegment(this.apiKey)
-                .addPathSegment("full")
-                .build();
-        Request request = new Request.Builder().url(url).get().build();
-        Type responseType = new TypeToken<ApiResponse<Server>>() {}.getType();
-        ApiResponse<Server> response = execute(request, responseType);
+        if (fullServerInfoRefresh != null) {
+            return fullServerInfoRefresh.get().getServer();
+        }
+        return cached(Endpoint.FULL_SERVER_INFO, null, this::fetchFullServerInfo);
+    }
+
+    /**
+     * See {@link #getServerInfoSnapshot()}.
+     */
+    public ServerSnapshot getFullServerInfoSnapshot() throws TopGamesException {
+        if (fullServerInfoRefresh != null) {
+            return fullServerInfoRefresh.get();
+        }
+        return new ServerSnapshot(getFullServerInfo(), Instant.now(), false);
+    }
+
+    private Server fetchFullServerInfo() throws TopGamesException {
+        ApiResponse<Server> response = execute(fullServerInfoEndpoint, fullServerInfoUrl());
         return response.getData();
     }
 
+    HttpUrl fullServerInfoUrl() {
+        return fullServerInfoEndpoint.url();
+    }
+
     public List<Stat> getServerStats() throws TopGamesException {
-        HttpUrl url = baseUrl.newBuilder()
-                .addPathSegment("servers")
-                .addPathSegment(this.apiKey)
-                .addPathSegment("stats")
-                .build();
-        Request request = new Request.Builder().url(url).get().build();
-        Type responseType = new TypeToken<ApiResponse<List<Stat>>>() {}.getType();
-        ApiResponse<List<Stat>> response = execute(request, responseType);
+        return cached(Endpoint.SERVER_STATS, null, this::fetchServerStats);
+    }
+
+    private List<Stat> fetchServerStats() throws TopGamesException {
+        ApiResponse<List<Stat>> response = execute(serverStatsEndpoint, serverStatsUrl());
         return response.getData();
     }
 
+    /**
+     * Fetches the server stats as columns for {@link StatsHistory}, bypassing the response cache.
+     */
+    StatColumns fetchStatColumns() throws TopGamesException {
+        ApiResponse<StatColumns> response = execute(statColumnsEndpoint, serverStatsUrl());
+        StatColumns columns = response.getData();
+        return columns != null ? columns : new StatColumns();
+    }
+
+    HttpUrl serverStatsUrl() {
+        return serverStatsEndpoint.url();
+    }
+
     public List<PlayerRanking> getPlayersRanking(String type) throws TopGamesException {
-        HttpUrl.Builder urlBuilder = baseUrl.newBuilder()
-                .addPathSegment("servers")
-                .addPathSegment(this.apiKey)
-                .addPathSegment("players-ranking");
-        
-        if (type != null) {
-            urlBuilder.addQueryParameter("type", type);
-        }
+        return cached(Endpoint.PLAYERS_RANKING, type, () -> fetchPlayersRanking(type));
+    }
 
-        Request request = new Request.Builder().url(urlBuilder.build()).get().build();
-        Type responseType = new TypeToken<ApiResponse<List<PlayerRanking>>>() {}.getType();
-        ApiResponse<List<PlayerRanking>> response = execute(request, responseType);
+    private List<PlayerRanking> fetchPlayersRanking(String type) throws TopGamesException {
+        ApiResponse<List<PlayerRanking>> response = execute(playersRankingEndpoint, playersRankingUrl(type));
         return response.getData();
     }
 
+    /**
+     * Fetches the same ranking as {@link #getPlayersRanking(String)} as a compact, sorted {@link Leaderboard},
+     * decoded without creating an object per player. Leaderboards are snapshots meant to be kept and diffed,
+     * so they are not stored in the response cache.
+     */
+    public Leaderboard getPlayersLeaderboard(String type) throws TopGamesException {
+        ApiResponse<Leaderboard> response = execute(playersLeaderboardEndpoint, playersRankingUrl(type));
+        Leaderboard leaderboard = response.getData();
+        return leaderboard != null ? leaderboard : new Leaderboard.Builder().build();
+    }
+
+    /**
+     * Publishes the players of {@link #getPlayersRanking(String)} one at a time as they are decoded, reading
+     * only as far as the subscriber's demand. Each subscription sends its own request, bypassing the
+     * response cache.
+     */
+    public Flow.Publisher<PlayerRanking> publishPlayersRanking(String type) {
+        return new JsonArrayPublisher<>((page, started) -> open(playersRankingEndpoint, playersRankingUrl(type), started), 0, "players",
+                codec.gson().getAdapter(PlayerRanking.class), codec, publisherExecutor);
+    }
+
+    HttpUrl playersRankingUrl(String type) {
+        return type != null ? playersRankingEndpoint.withQueryParameter("type", type) : playersRankingEndpoint.url();
+    }
+
     public boolean checkVoteByIP(String ip) throws TopGamesException {
-        HttpUrl url = baseUrl.newBuilder()
-                .addPathSegment("votes")
-                .addPathSegment("check-ip")
-                .addQueryParameter("server_token", this.apiKey)
-                .addQueryParameter("ip", ip)
-                .build();
-        Request request = new Request.Builder().url(url).get().build();
-        ApiResponse<Object> response = execute(request, new TypeToken<ApiResponse<Object>>(){}.getType());
+        if (ipChecks != null) {
+            return awaitCheck(ipChecks.check(ip));
+        }
+        ApiResponse<Object> response = execute(checkByIPEndpoint, checkByIPUrl(ip));
         return response.isSuccess();
     }
-    
+
+    /**
+     * Like {@link #checkVoteByIP(String)} with the timeout of {@link #getGame(String, Duration)}. The check is
+     * sent on its own, outside any batch, so that the timeout applies to it alone.
+     */
+    public boolean checkVoteByIP(String ip, @NotNull Duration timeout) throws TopGamesException {
+        ApiResponse<Object> response = execute(checkByIPEndpoint, checkByIPUrl(ip), timeout);
+        return response.isSuccess();
+    }
+
+    public CompletableFuture<Boolean> checkVoteByIPAsync(String ip) {
+        return ipChecks != null ? ipChecks.check(ip) : sendCheckVoteByIP(ip);
+    }
+
+    /**
+     * Like {@link #checkVoteByIPAsync(String)} with the timeout of {@link #getGameAsync(String, Duration)}.
+     * The check is sent on its own, outside any batch, so that the timeout applies to it alone.
+     */
+    public CompletableFuture<Boolean> checkVoteByIPAsync(String ip, @NotNull Duration timeout) {
+        CompletableFuture<ApiResponse<Object>> future = executeAsync(checkByIPEndpoint, checkByIPUrl(ip), timeout);
+        return mapResult(future, response -> response.isSuccess());
+    }
+
+    private CompletableFuture<Boolean> sendCheckVoteByIP(String ip) {
+        CompletableFuture<ApiResponse<Object>> future = executeAsync(checkByIPEndpoint, checkByIPUrl(ip));
+        return mapResult(future, response -> response.isSuccess());
+    }
+
+    HttpUrl checkByIPUrl(String ip) {
+        return checkByIPEndpoint.withQueryParameter("ip", ip);
+    }
+
     public CompletableFuture<Boolean> checkVoteByUsernameAsync(String username) {
-        HttpUrl url = baseUrl.newBuilder()
-                .addPathSegment("votes")
-                .addPathSegment("check")
-                .addQueryParameter("server_token", this.apiKey)
-                .addQueryParameter("playername", username)
-                .build();
-        Request request = new Request.Builder().url(url).get().build();
-        
-        CompletableFuture<ApiResponse<Object>> future = executeAsync(request, new TypeToken<ApiResponse<Object>>(){}.getType());
-        return future.thenApply(response -> response.isSuccess());
+        return usernameChecks != null ? usernameChecks.check(username) : sendCheckVoteByUsername(username);
+    }
+
+    /**
+     * Like {@link #checkVoteByUsernameAsync(String)} with the timeout of {@link #getGameAsync(String, Duration)}.
+     * The check is sent on its own, outside any batch, so that the timeout applies to it alone.
+     */
+    public CompletableFuture<Boolean> checkVoteByUsernameAsync(String username, @NotNull Duration timeout) {
+        CompletableFuture<ApiResponse<Object>> future =
+                executeAsync(checkByUsernameEndpoint, checkByUsernameUrl(username), timeout);
+        return mapResult(future, response -> response.isSuccess());
+    }
+
+    private CompletableFuture<Boolean> sendCheckVoteByUsername(String username) {
+        CompletableFuture<ApiResponse<Object>> future = executeAsync(checkByUsernameEndpoint, checkByUsernameUrl(username));
+        return mapResult(future, response -> response.isSuccess());
+    }
+
+    HttpUrl checkByUsernameUrl(String username) {
+        return checkByUsernameEndpoint.withQueryParameter("playername", username);
+    }
+
+    private static boolean awaitCheck(CompletableFuture<Boolean> check) throws TopGamesException {
+        try {
+            return check.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TopGamesException("Interrupted while checking vote", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof TopGamesException) {
+                throw new TopGamesException(cause.getMessage(), cause);
+            }
+            throw new TopGamesException("Vote check failed", cause);
+        }
     }
     
-    private static class ApiResponse<T> {
-        private int code;
-        private boolean success;
-        private String message;
-        private T votes;
-        private T server;
-        private T stats;
-        private T players;
+    static class ApiResponse<T> {
+        final int code;
+        final boolean success;
+        final String message;
+        final T votes;
+        final T server;
+        final T stats;
+        final T players;
+
+        ApiResponse(int code, boolean success, String message, T votes, T server, T stats, T players) {
+            this.code = code;
+            this.success = success;
+            this.message = message;
+            this.votes = votes;
+            this.server = server;
+            this.stats = stats;
+            this.players = players;
+        }
 
         public boolean isSuccess() { return success; }
         
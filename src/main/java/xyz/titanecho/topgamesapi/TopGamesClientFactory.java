@@ -0,0 +1,182 @@
+package xyz.titanecho.topgamesapi;
+
+import com.google.gson.GsonBuilder;
+import okhttp3.Cache;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.logging.HttpLoggingInterceptor;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates {@link TopGamesClient}s for many API keys that share one connection pool, one dispatcher
+ * (and its threads), one optional disk cache and one JSON codec.
+ * <p>
+ * Each client keeps its own API key, rate limit, retries, caches and other per-client settings, configured
+ * on the builder returned by {@link #newClient(String)}. Closing a client only releases what it owns;
+ * the shared resources are released by closing the factory, after which its clients can no longer be used.
+ * <pre>
+ * TopGamesClientFactory factory = new TopGamesClientFactory.Builder().maxRequestsPerHost(64).build();
+ * TopGamesClient lobby = factory.newClient(lobbyKey).rateLimit(10, Duration.ofSeconds(1)).build();
+ * TopGamesClient survival = factory.newClient(survivalKey).rateLimit(10, Duration.ofSeconds(1)).build();
+ * </pre>
+ */
+public final class TopGamesClientFactory implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(TopGamesClientFactory.class);
+
+    private final String baseUrl;
+    private final OkHttpClient httpClient;
+    private final JsonCodec codec;
+    private final ExecutorService publisherExecutor;
+
+    private TopGamesClientFactory(Builder builder) {
+        this.baseUrl = builder.baseUrl;
+        this.codec = new JsonCodec(new GsonBuilder().registerTypeAdapterFactory(new ModelAdapters()).create());
+        this.publisherExecutor = TopGamesClient.createPublisherExecutor(builder.virtualThreads);
+        HttpUrl url = Objects.requireNonNull(HttpUrl.parse(builder.baseUrl), "Base URL must be a valid URL");
+        OkHttpClient.Builder clientBuilder = TopGamesClient.configureConnections(new OkHttpClient.Builder()
+                        .connectTimeout(10, TimeUnit.SECONDS)
+                        .readTimeout(30, TimeUnit.SECONDS),
+                url, builder.maxIdleConnections, builder.keepAlive, builder.http2)
+                .dispatcher(TopGamesClient.createDispatcher(builder.virtualThreads, builder.maxRequests,
+                        TopGamesClient.maxRequestsPerHost(builder.http2, builder.maxRequests, builder.maxRequestsPerHost)));
+        if (builder.cache != null) {
+            clientBuilder.cache(builder.cache);
+        }
+        if (builder.debugLogging) {
+            HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor(log::debug);
+            loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+            clientBuilder.addNetworkInterceptor(loggingInterceptor);
+        }
+        this.httpClient = clientBuilder.build();
+    }
+
+    /**
+     * Returns a builder for a client with the given API key that uses this factory's shared resources.
+     * The HTTP cache, virtual threads, dispatcher limits, connection pool and HTTP/2 are set on the factory
+     * and cannot be changed per client.
+     */
+    public TopGamesClient.Builder newClient(@NotNull String apiKey) {
+        return new TopGamesClient.Builder(this).apiKey(apiKey).baseUrl(baseUrl);
+    }
+
+    OkHttpClient httpClient() {
+        return httpClient;
+    }
+
+    JsonCodec codec() {
+        return codec;
+    }
+
+    ExecutorService publisherExecutor() {
+        return publisherExecutor;
+    }
+
+    /**
+     * Shuts down the shared dispatcher and publisher threads, closes pooled connections and closes the disk cache.
+     */
+    @Override
+    public void close() {
+        log.info("Closing TopGamesClientFactory and releasing shared resources.");
+        publisherExecutor.shutdown();
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+        Cache cache = httpClient.cache();
+        if (cache != null) {
+            try {
+                cache.close();
+            } catch (IOException e) {
+                log.error("Failed to close OkHttp cache.", e);
+            }
+        }
+    }
+
+    public static class Builder {
+        private String baseUrl = "https://api.top-games.net/v1";
+        private boolean debugLogging = false;
+        private Cache cache = null;
+        private boolean virtualThreads = false;
+        private int maxRequests = 0;
+        private int maxRequestsPerHost = 0;
+        private int maxIdleConnections = 0;
+        private Duration keepAlive = null;
+        private boolean http2 = false;
+
+        public Builder baseUrl(@NotNull String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        public Builder enableDebugLogging() {
+            this.debugLogging = true;
+            return this;
+        }
+
+        public Builder enableHttpCache(@NotNull File cacheDirectory, long maxSizeMB) {
+            this.cache = new Cache(cacheDirectory, maxSizeMB * 1024 * 1024);
+            return this;
+        }
+
+        /**
+         * See {@link TopGamesClient.Builder#useVirtualThreads()}.
+         */
+        public Builder useVirtualThreads() {
+            this.virtualThreads = true;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of asynchronous calls executing at once across all clients (OkHttp default: 64).
+         */
+        public Builder maxRequests(int maxRequests) {
+            if (maxRequests < 1) {
+                throw new IllegalArgumentException("maxRequests must be at least 1");
+            }
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of asynchronous calls executing at once against the API host across all
+         * clients (OkHttp default: 5). All clients talk to the same host, so this usually needs raising.
+         */
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            if (maxRequestsPerHost < 1) {
+                throw new IllegalArgumentException("maxRequestsPerHost must be at least 1");
+            }
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Sizes the shared connection pool. See {@link TopGamesClient.Builder#connectionPool(int, Duration)}.
+         */
+        public Builder connectionPool(int maxIdleConnections, @NotNull Duration keepAlive) {
+            TopGamesClient.Builder.checkConnectionPool(maxIdleConnections, keepAlive);
+            this.maxIdleConnections = maxIdleConnections;
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * See {@link TopGamesClient.Builder#preferHttp2()}. All clients then share one HTTP/2 connection.
+         */
+        public Builder preferHttp2() {
+            this.http2 = true;
+            return this;
+        }
+
+        public TopGamesClientFactory build() {
+            return new TopGamesClientFactory(this);
+        }
+    }
+}
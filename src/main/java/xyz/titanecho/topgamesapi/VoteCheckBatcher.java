@@ -0,0 +1,138 @@
+package xyz.titanecho.topgamesapi;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A batching front-end for vote checks.
+ * <p>
+ * Checks are collected for a short window (or until the batch is full) and then sent together.
+ * Identical keys, whether queued or already in flight, share one HTTP call and every waiter gets its
+ * result. Completed results are kept for a short time, with separate TTLs for positive and negative
+ * answers, so a burst of logins by the same player is answered from memory.
+ */
+final class VoteCheckBatcher {
+    private static final Logger log = LoggerFactory.getLogger(VoteCheckBatcher.class);
+
+    private record CachedResult(boolean voted, long expiresAt) {
+    }
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long positiveTtlNanos;
+    private final long negativeTtlNanos;
+    private final Function<String, CompletableFuture<Boolean>> check;
+    private final Map<String, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+    private final Map<String, CachedResult> results = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<String> batch = new ArrayList<>();
+
+    VoteCheckBatcher(long windowNanos, int maxBatchSize, long positiveTtlNanos, long negativeTtlNanos,
+                     Function<String, CompletableFuture<Boolean>> check) {
+        this.windowNanos = windowNanos;
+        this.maxBatchSize = maxBatchSize;
+        this.positiveTtlNanos = positiveTtlNanos;
+        this.negativeTtlNanos = negativeTtlNanos;
+        this.check = check;
+    }
+
+    CompletableFuture<Boolean> check(String key) {
+        CachedResult cached = results.get(key);
+        if (cached != null) {
+            if (System.nanoTime() - cached.expiresAt() < 0) {
+                return CompletableFuture.completedFuture(cached.voted());
+            }
+            results.remove(key, cached);
+        }
+
+        CompletableFuture<Boolean> waiter = pending.get(key);
+        if (waiter != null) {
+            return waiter.thenApply(Function.identity());
+        }
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        waiter = pending.putIfAbsent(key, created);
+        if (waiter != null) {
+            return waiter.thenApply(Function.identity());
+        }
+        enqueue(key);
+        // A dependent copy, so one caller cancelling or completing it cannot affect the other waiters.
+        return created.thenApply(Function.identity());
+    }
+
+    private void enqueue(String key) {
+        List<String> full = null;
+        boolean first;
+        lock.lock();
+        try {
+            first = batch.isEmpty();
+            batch.add(key);
+            if (batch.size() >= maxBatchSize) {
+                full = batch;
+                batch = new ArrayList<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            send(full);
+        } else if (first) {
+            CompletableFuture.delayedExecutor(windowNanos, TimeUnit.NANOSECONDS, Runnable::run).execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        List<String> ready;
+        lock.lock();
+        try {
+            ready = batch;
+            batch = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        if (!ready.isEmpty()) {
+            send(ready);
+        }
+    }
+
+    private void send(List<String> keys) {
+        log.trace("Sending batch of {} vote checks", keys.size());
+        purgeExpired();
+        for (String key : keys) {
+            CompletableFuture<Boolean> waiter = pending.get(key);
+            CompletableFuture<Boolean> call;
+            try {
+                call = check.apply(key);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((voted, error) -> {
+                if (error == null) {
+                    long ttl = voted ? positiveTtlNanos : negativeTtlNanos;
+                    if (ttl > 0) {
+                        results.put(key, new CachedResult(voted, System.nanoTime() + ttl));
+                    }
+                }
+                pending.remove(key, waiter);
+                if (error == null) {
+                    waiter.complete(voted);
+                } else {
+                    waiter.completeExceptionally(error);
+                }
+            });
+        }
+    }
+
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        results.values().removeIf(result -> now - result.expiresAt() >= 0);
+    }
+}
@@ -0,0 +1,19 @@
+package xyz.titanecho.topgamesapi;
+
+import xyz.titanecho.topgamesapi.model.Vote;
+
+/**
+ * Receives votes that have not been seen before.
+ *
+ * @see VotePoller
+ * @see VoteWebhookReceiver
+ */
+@FunctionalInterface
+public interface VoteListener {
+    /**
+     * Called once for each new vote.
+     *
+     * @param vote the new vote.
+     */
+    void onVote(Vote vote);
+}
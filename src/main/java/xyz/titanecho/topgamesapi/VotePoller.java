@@ -0,0 +1,215 @@
+package xyz.titanecho.topgamesapi;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import xyz.titanecho.topgamesapi.model.Vote;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls {@link TopGamesClient#getUnclaimedVotesAsync()} and emits only votes that have not been seen before.
+ * <p>
+ * The poll interval adapts to traffic: it drops to the minimum as soon as a poll returns new votes
+ * and doubles after each idle or failed poll, up to the maximum. Vote IDs are remembered for a
+ * configurable time, so each poll costs one set lookup per returned vote and listeners only see new ones.
+ * Votes the listener executor rejects are not remembered, so a later poll delivers them.
+ * <p>
+ * The poller owns one daemon thread, which runs the polling bookkeeping and, unless another executor
+ * is configured, the listeners. Close the poller to stop it; the client is not closed.
+ */
+public class VotePoller implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(VotePoller.class);
+
+    private final TopGamesClient client;
+    private final long minIntervalNanos;
+    private final long maxIntervalNanos;
+    private final SeenIds seen;
+    private final Executor listenerExecutor;
+    private final List<VoteListener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private volatile long intervalNanos;
+    private volatile boolean closed;
+
+    private VotePoller(Builder builder) {
+        this.client = builder.client;
+        this.minIntervalNanos = builder.minInterval.toNanos();
+        this.maxIntervalNanos = builder.maxInterval.toNanos();
+        this.seen = new SeenIds(builder.seenTtl.toNanos());
+        this.listeners.addAll(builder.listeners);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TopGames-VotePoller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.listenerExecutor = builder.listenerExecutor != null ? builder.listenerExecutor : scheduler;
+        this.intervalNanos = minIntervalNanos;
+    }
+
+    /**
+     * Starts polling immediately.
+     *
+     * @return this poller.
+     */
+    public VotePoller start() {
+        scheduler.execute(this::poll);
+        return this;
+    }
+
+    public void addListener(@NotNull VoteListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(@NotNull VoteListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return The current delay between polls.
+     */
+    public Duration getCurrentInterval() {
+        return Duration.ofNanos(intervalNanos);
+    }
+
+    private void poll() {
+        if (closed) {
+            return;
+        }
+        client.getUnclaimedVotesAsync().whenCompleteAsync((votes, error) -> {
+            boolean active = false;
+            try {
+                if (error != null) {
+                    log.warn("Polling unclaimed votes failed. Backing off.", error);
+                } else {
+                    active = process(votes) > 0;
+                }
+            } catch (RuntimeException e) {
+                log.error("Processing polled votes failed. Backing off.", e);
+            } finally {
+                // Always, so that no failure can stop polling for good.
+                scheduleNext(active);
+            }
+        }, scheduler);
+    }
+
+    private int process(List<Vote> votes) {
+        long now = System.nanoTime();
+        seen.expire(now);
+        if (votes == null) {
+            return 0;
+        }
+        List<Vote> fresh = new ArrayList<>();
+        for (Vote vote : votes) {
+            if (vote != null && seen.add(key(vote), now)) {
+                fresh.add(vote);
+            }
+        }
+        if (!fresh.isEmpty()) {
+            log.debug("Received {} new votes ({} returned by the API).", fresh.size(), votes.size());
+            try {
+                listenerExecutor.execute(() -> dispatch(fresh));
+            } catch (RejectedExecutionException e) {
+                // Forget them, so that a later poll delivers them again.
+                for (Vote vote : fresh) {
+                    seen.remove(key(vote));
+                }
+                log.warn("Listener executor rejected {} new votes. Backing off.", fresh.size(), e);
+                return 0;
+            }
+        }
+        return fresh.size();
+    }
+
+    private void dispatch(List<Vote> votes) {
+        for (Vote vote : votes) {
+            for (VoteListener listener : listeners) {
+                try {
+                    listener.onVote(vote);
+                } catch (RuntimeException e) {
+                    log.error("Vote listener failed for vote {}", vote.getId(), e);
+                }
+            }
+        }
+    }
+
+    private void scheduleNext(boolean active) {
+        intervalNanos = active ? minIntervalNanos : Math.min(maxIntervalNanos, intervalNanos * 2);
+        if (!closed) {
+            scheduler.schedule(this::poll, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String key(Vote vote) {
+        return vote.getId() != null ? vote.getId() : vote.getUsername() + '@' + vote.getCreatedAt();
+    }
+
+    /**
+     * Stops polling and shuts down the poller's thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdown();
+    }
+
+    public static class Builder {
+        private final TopGamesClient client;
+        private Duration minInterval = Duration.ofSeconds(5);
+        private Duration maxInterval = Duration.ofMinutes(1);
+        private Duration seenTtl = Duration.ofHours(24);
+        private Executor listenerExecutor = null;
+        private final List<VoteListener> listeners = new ArrayList<>();
+
+        public Builder(@NotNull TopGamesClient client) {
+            this.client = Objects.requireNonNull(client, "Client must not be null");
+        }
+
+        /**
+         * Sets the poll interval bounds. Defaults to 5 seconds and 1 minute.
+         */
+        public Builder interval(@NotNull Duration min, @NotNull Duration max) {
+            if (min.isNegative() || min.isZero() || max.compareTo(min) < 0) {
+                throw new IllegalArgumentException("Intervals must be positive and min must not exceed max");
+            }
+            this.minInterval = min;
+            this.maxInterval = max;
+            return this;
+        }
+
+        /**
+         * Sets how long a vote ID is remembered after it was first seen. Defaults to 24 hours.
+         * Should exceed the time a vote stays in the API's unclaimed list.
+         */
+        public Builder seenTtl(@NotNull Duration seenTtl) {
+            this.seenTtl = seenTtl;
+            return this;
+        }
+
+        /**
+         * Sets the executor that runs the listeners. Defaults to the poller's own thread.
+         */
+        public Builder listenerExecutor(@NotNull Executor listenerExecutor) {
+            this.listenerExecutor = listenerExecutor;
+            return this;
+        }
+
+        public Builder addListener(@NotNull VoteListener listener) {
+            this.listeners.add(Objects.requireNonNull(listener));
+            return this;
+        }
+
+        public VotePoller build() {
+            return new VotePoller(this);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package xyz.titanecho.topgamesapi;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import xyz.titanecho.topgamesapi.model.Vote;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Receives vote callbacks over HTTP and passes new votes to listeners, as a low-latency alternative to
+ * polling {@link TopGamesClient#getUnclaimedVotes()}.
+ * <p>
+ * Runs the JDK's built-in {@link HttpServer} on one daemon thread. A callback is a {@code POST} whose body
+ * is one vote or an array of votes, in the API's JSON format, decoded with the client's adapters. It must
+ * carry the server token, either as {@code Authorization: Bearer <token>} or as the {@code server_token}
+ * query parameter; other requests are answered with 401 and ignored. Accepted callbacks are answered with
+ * 204 before listeners run.
+ * <p>
+ * Callbacks can be lost, so a {@link VotePoller} can run alongside at a slow interval to pick up missed
+ * votes. Both feed the same set of seen vote IDs, so each vote reaches the listeners once, from whichever
+ * source saw it first. Close the receiver to stop the server and the poller; the client is not closed.
+ */
+public class VoteWebhookReceiver implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(VoteWebhookReceiver.class);
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final byte[] token;
+    private final TypeAdapter<Vote> voteAdapter;
+    private final JsonCodec codec;
+    private final String path;
+    private final SeenIds seen;
+    private final List<VoteListener> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService serverExecutor;
+    private final Executor listenerExecutor;
+    private final HttpServer server;
+    private final VotePoller reconciler;
+
+    private VoteWebhookReceiver(Builder builder) throws IOException {
+        this.token = builder.client.apiKey().getBytes(StandardCharsets.UTF_8);
+        this.codec = builder.client.codec();
+        this.voteAdapter = codec.gson().getAdapter(Vote.class);
+        this.path = builder.path;
+        this.seen = new SeenIds(builder.seenTtl.toNanos());
+        this.listeners.addAll(builder.listeners);
+        this.serverExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TopGames-VoteWebhook");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.listenerExecutor = builder.listenerExecutor != null ? builder.listenerExecutor : serverExecutor;
+        this.server = HttpServer.create(builder.address, 0);
+        server.createContext(path, this::handle);
+        server.setExecutor(serverExecutor);
+        if (builder.reconcileInterval != null) {
+            this.reconciler = new VotePoller.Builder(builder.client)
+                    .interval(builder.reconcileInterval, builder.reconcileInterval)
+                    .seenTtl(builder.seenTtl)
+                    .listenerExecutor(Runnable::run)
+                    .addListener(this::offer)
+                    .build();
+        } else {
+            this.reconciler = null;
+        }
+    }
+
+    /**
+     * Starts accepting callbacks and, if configured, reconciliation polling.
+     *
+     * @return this receiver.
+     */
+    public VoteWebhookReceiver start() {
+        server.start();
+        if (reconciler != null) {
+            reconciler.start();
+        }
+        log.info("Receiving vote callbacks on {}{}", server.getAddress(), path);
+        return this;
+    }
+
+    /**
+     * @return The address the server is bound to, with the actual port if port 0 was requested.
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public void addListener(@NotNull VoteListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(@NotNull VoteListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            if (!authorized(exchange)) {
+                log.warn("Rejected vote callback from {} without a valid server token.", exchange.getRemoteAddress());
+                exchange.sendResponseHeaders(401, -1);
+                return;
+            }
+            byte[] body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                exchange.sendResponseHeaders(413, -1);
+                return;
+            }
+            List<Vote> votes;
+            try {
+                votes = decode(body);
+            } catch (JsonParseException | IOException | IllegalStateException | NumberFormatException e) {
+                log.warn("Rejected malformed vote callback from {}.", exchange.getRemoteAddress(), e);
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(204, -1);
+            for (Vote vote : votes) {
+                offer(vote);
+            }
+        }
+    }
+
+    private boolean authorized(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            return matches(authorization.substring("Bearer ".length()));
+        }
+        return matches(queryParameter(exchange.getRequestURI(), "server_token"));
+    }
+
+    private boolean matches(String candidate) {
+        return candidate != null && MessageDigest.isEqual(token, candidate.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String queryParameter(URI uri, String name) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The body, or {@code null} if it is larger than {@value #MAX_BODY_BYTES} bytes.
+     */
+    private static byte[] readBody(InputStream in) throws IOException {
+        byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+        return body.length > MAX_BODY_BYTES ? null : body;
+    }
+
+    private List<Vote> decode(byte[] body) throws IOException {
+        JsonReader reader = codec.gson().newJsonReader(
+                new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        List<Vote> votes = new ArrayList<>();
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                votes.add(readVote(reader));
+            }
+            reader.endArray();
+        } else {
+            votes.add(readVote(reader));
+        }
+        return votes;
+    }
+
+    /**
+     * Reads one vote, rejecting a JSON {@code null} so that the whole callback is answered with a 400.
+     */
+    private Vote readVote(JsonReader reader) throws IOException {
+        Vote vote = voteAdapter.read(reader);
+        if (vote == null) {
+            throw new JsonParseException("Vote must not be null");
+        }
+        return vote;
+    }
+
+    /**
+     * Passes the vote to the listeners unless it was already seen, by a callback or by reconciliation.
+     */
+    private void offer(Vote vote) {
+        long now = System.nanoTime();
+        synchronized (seen) {
+            seen.expire(now);
+            if (!seen.add(VotePoller.key(vote), now)) {
+                return;
+            }
+        }
+        listenerExecutor.execute(() -> dispatch(vote));
+    }
+
+    private void dispatch(Vote vote) {
+        for (VoteListener listener : listeners) {
+            try {
+                listener.onVote(vote);
+            } catch (RuntimeException e) {
+                log.error("Vote listener failed for vote {}", vote.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * Stops the server and reconciliation polling.
+     */
+    @Override
+    public void close() {
+        if (reconciler != null) {
+            reconciler.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdown();
+    }
+
+    public static class Builder {
+        private final TopGamesClient client;
+        private InetSocketAddress address = new InetSocketAddress(8080);
+        private String path = "/topgames/vote";
+        private Duration seenTtl = Duration.ofHours(24);
+        private Duration reconcileInterval = null;
+        private Executor listenerExecutor = null;
+        private final List<VoteListener> listeners = new ArrayList<>();
+
+        public Builder(@NotNull TopGamesClient client) {
+            this.client = Objects.requireNonNull(client, "Client must not be null");
+        }
+
+        /**
+         * Sets the address to listen on. Defaults to port 8080 on all interfaces; port 0 picks a free port.
+         */
+        public Builder bind(@NotNull InetSocketAddress address) {
+            this.address = Objects.requireNonNull(address, "Address must not be null");
+            return this;
+        }
+
+        /**
+         * Sets the path callbacks are posted to. Defaults to {@code /topgames/vote}.
+         */
+        public Builder path(@NotNull String path) {
+            if (!path.startsWith("/")) {
+                throw new IllegalArgumentException("Path must start with '/'");
+            }
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Also polls the unclaimed votes at this fixed interval, to pick up votes whose callback was lost.
+         * Since callbacks deliver votes right away, this can be slow, e.g. a few minutes.
+         */
+        public Builder reconcileEvery(@NotNull Duration interval) {
+            if (interval.isNegative() || interval.isZero()) {
+                throw new IllegalArgumentException("Reconciliation interval must be positive");
+            }
+            this.reconcileInterval = interval;
+            return this;
+        }
+
+        /**
+         * Sets how long a vote ID is remembered after it was first seen. Defaults to 24 hours.
+         */
+        public Builder seenTtl(@NotNull Duration seenTtl) {
+            this.seenTtl = seenTtl;
+            return this;
+        }
+
+        /**
+         * Sets the executor that runs the listeners. Defaults to the receiver's own thread.
+         */
+        public Builder listenerExecutor(@NotNull Executor listenerExecutor) {
+            this.listenerExecutor = listenerExecutor;
+            return this;
+        }
+
+        public Builder addListener(@NotNull VoteListener listener) {
+            this.listeners.add(Objects.requireNonNull(listener));
+            return this;
+        }
+
+        /**
+         * @throws IOException if the address cannot be bound.
+         */
+        public VoteWebhookReceiver build() throws IOException {
+            return new VoteWebhookReceiver(this);
+        }
+    }
+}
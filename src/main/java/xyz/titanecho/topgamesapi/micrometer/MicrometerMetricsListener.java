@@ -0,0 +1,196 @@
+package xyz.titanecho.topgamesapi.micrometer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.ConnectionPool;
+import org.jetbrains.annotations.NotNull;
+import xyz.titanecho.topgamesapi.CircuitState;
+import xyz.titanecho.topgamesapi.Endpoint;
+import xyz.titanecho.topgamesapi.MetricsListener;
+import xyz.titanecho.topgamesapi.Priority;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link MetricsListener} that records into a Micrometer {@link MeterRegistry}.
+ * Requires {@code io.micrometer:micrometer-core} on the classpath; the client itself does not depend on it.
+ * <p>
+ * All meters are registered up front, tagged with the lower-case endpoint name, so recording is a map
+ * lookup and a meter update:
+ * <ul>
+ *     <li>{@code topgames.client.requests} (timer, with {@code outcome} = {@code success} or {@code error})</li>
+ *     <li>{@code topgames.client.retries} (counter)</li>
+ *     <li>{@code topgames.client.hedges} (counter)</li>
+ *     <li>{@code topgames.client.rate_limit.wait} (timer)</li>
+ *     <li>{@code topgames.client.response.size} (distribution summary, bytes)</li>
+ *     <li>{@code topgames.client.decode} (timer)</li>
+ *     <li>{@code topgames.client.http_cache.hits} (counter)</li>
+ *     <li>{@code topgames.client.rejected} (counter, calls rejected by the circuit breaker or concurrency limit)</li>
+ *     <li>{@code topgames.client.connections} (gauge, with {@code state} = {@code total} or {@code idle})</li>
+ *     <li>{@code topgames.client.queue.wait} (timer, tagged with {@code priority} instead of the endpoint)</li>
+ *     <li>{@code topgames.client.circuit.state} (gauge, not tagged by endpoint: 0 closed, 1 open, 2 half-open)</li>
+ *     <li>{@code topgames.client.concurrency.limit} (gauge, not tagged by endpoint; 0 when disabled)</li>
+ * </ul>
+ * Latency timers publish a percentile histogram, so percentiles can be computed by the monitoring backend.
+ */
+public class MicrometerMetricsListener implements MetricsListener {
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final Map<Endpoint, Meters> meters = new EnumMap<>(Endpoint.class);
+    private final Map<Priority, Timer> queueWaits = new EnumMap<>(Priority.class);
+    private final AtomicInteger circuitState = new AtomicInteger();
+    private final AtomicInteger concurrencyLimit = new AtomicInteger();
+
+    public MicrometerMetricsListener(@NotNull MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    /**
+     * @param tags extra tags added to every meter, e.g. to tell several clients apart.
+     */
+    public MicrometerMetricsListener(@NotNull MeterRegistry registry, @NotNull Iterable<Tag> tags) {
+        this.registry = registry;
+        this.tags = Tags.of(tags);
+        for (Endpoint endpoint : Endpoint.values()) {
+            meters.put(endpoint, new Meters(registry, this.tags.and("endpoint", endpoint.name().toLowerCase())));
+        }
+        for (Priority priority : Priority.values()) {
+            queueWaits.put(priority, Timer.builder("topgames.client.queue.wait")
+                    .description("Time attempts waited in the request scheduler's priority lanes")
+                    .tags(this.tags.and("priority", priority.name().toLowerCase()))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        Gauge.builder("topgames.client.circuit.state", circuitState, AtomicInteger::get)
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .tags(this.tags)
+                .register(registry);
+        Gauge.builder("topgames.client.concurrency.limit", concurrencyLimit, AtomicInteger::get)
+                .description("Current adaptive concurrency limit")
+                .tags(this.tags)
+                .register(registry);
+    }
+
+    @Override
+    public void bindConnectionPool(@NotNull ConnectionPool connectionPool) {
+        Gauge.builder("topgames.client.connections", connectionPool, ConnectionPool::connectionCount)
+                .tags(tags.and("state", "total"))
+                .register(registry);
+        Gauge.builder("topgames.client.connections", connectionPool, ConnectionPool::idleConnectionCount)
+                .tags(tags.and("state", "idle"))
+                .register(registry);
+    }
+
+    @Override
+    public void callCompleted(@NotNull Endpoint endpoint, long latencyNanos, boolean success) {
+        Meters m = meters.get(endpoint);
+        (success ? m.success : m.error).record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void retried(@NotNull Endpoint endpoint) {
+        meters.get(endpoint).retries.increment();
+    }
+
+    @Override
+    public void hedged(@NotNull Endpoint endpoint) {
+        meters.get(endpoint).hedges.increment();
+    }
+
+    @Override
+    public void rateLimitWaited(@NotNull Endpoint endpoint, long waitNanos) {
+        meters.get(endpoint).rateLimitWait.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void responseDecoded(@NotNull Endpoint endpoint, long bodyBytes, long decodeNanos, boolean fromCache) {
+        Meters m = meters.get(endpoint);
+        m.responseSize.record(bodyBytes);
+        m.decode.record(decodeNanos, TimeUnit.NANOSECONDS);
+        if (fromCache) {
+            m.httpCacheHits.increment();
+        }
+    }
+
+    @Override
+    public void queueWaited(@NotNull Priority priority, long waitNanos) {
+        queueWaits.get(priority).record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void callRejected(@NotNull Endpoint endpoint) {
+        meters.get(endpoint).rejected.increment();
+    }
+
+    @Override
+    public void circuitStateChanged(@NotNull CircuitState state) {
+        circuitState.set(state.ordinal());
+    }
+
+    @Override
+    public void concurrencyLimitChanged(int limit) {
+        concurrencyLimit.set(limit);
+    }
+
+    private static final class Meters {
+        final Timer success;
+        final Timer error;
+        final Counter retries;
+        final Counter hedges;
+        final Timer rateLimitWait;
+        final DistributionSummary responseSize;
+        final Timer decode;
+        final Counter httpCacheHits;
+        final Counter rejected;
+
+        Meters(MeterRegistry registry, Tags tags) {
+            this.success = requests(registry, tags.and("outcome", "success"));
+            this.error = requests(registry, tags.and("outcome", "error"));
+            this.retries = Counter.builder("topgames.client.retries")
+                    .description("Retried attempts")
+                    .tags(tags)
+                    .register(registry);
+            this.hedges = Counter.builder("topgames.client.hedges")
+                    .description("Hedged attempts sent because the first attempt was slow")
+                    .tags(tags)
+                    .register(registry);
+            this.rateLimitWait = Timer.builder("topgames.client.rate_limit.wait")
+                    .description("Time spent waiting for a client-side rate limit permit")
+                    .tags(tags)
+                    .register(registry);
+            this.responseSize = DistributionSummary.builder("topgames.client.response.size")
+                    .description("Decoded response body size")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(registry);
+            this.decode = Timer.builder("topgames.client.decode")
+                    .description("Time spent reading and decoding response bodies")
+                    .tags(tags)
+                    .register(registry);
+            this.httpCacheHits = Counter.builder("topgames.client.http_cache.hits")
+                    .description("Responses served by the OkHttp disk cache")
+                    .tags(tags)
+                    .register(registry);
+            this.rejected = Counter.builder("topgames.client.rejected")
+                    .description("Attempts rejected by the circuit breaker or concurrency limit without being sent")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        private static Timer requests(MeterRegistry registry, Tags tags) {
+            return Timer.builder("topgames.client.requests")
+                    .description("Latency of Top-Games API calls, including retries and decoding")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
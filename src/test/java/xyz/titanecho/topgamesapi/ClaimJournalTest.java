@@ -0,0 +1,162 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import xyz.titanecho.topgamesapi.model.Vote;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaimJournalTest {
+
+    private MockWebServer mockWebServer;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    private static Vote vote(String id, String username) {
+        Vote vote = new Vote();
+        vote.setId(id);
+        vote.setUsername(username);
+        return vote;
+    }
+
+    @Test
+    void claimVote_ClaimsEachVoteOnceAcrossRestarts() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        Path file = tempDir.resolve("claims.journal");
+
+        try (ClaimJournal journal = new ClaimJournal.Builder(file).build();
+             TopGamesClient client = new TopGamesClient.Builder()
+                     .apiKey("test-api-key")
+                     .baseUrl(mockWebServer.url("/").toString())
+                     .claimJournal(journal)
+                     .build()) {
+            CompletableFuture<Boolean> first = client.claimVoteAsync(vote("v1", "Player1"));
+            CompletableFuture<Boolean> concurrent = client.claimVoteAsync(vote("v1", "Player1"));
+            assertTrue(first.get());
+            assertFalse(concurrent.get());
+            assertFalse(client.claimVote(vote("v1", "Player1")));
+            assertThrows(TopGamesException.class, () -> client.claimVote(vote("v2", "Player2")));
+        }
+        assertEquals(2, mockWebServer.getRequestCount());
+
+        try (ClaimJournal journal = new ClaimJournal.Builder(file).build();
+             TopGamesClient client = new TopGamesClient.Builder()
+                     .apiKey("test-api-key")
+                     .baseUrl(mockWebServer.url("/").toString())
+                     .claimJournal(journal)
+                     .build()) {
+            assertTrue(journal.isClaimed("v1"));
+            assertFalse(journal.isClaimed("v2"));
+            assertEquals(Set.of("v2"), journal.getPendingClaims());
+
+            // v2's claim failed in the previous run, so the API may or may not have recorded it.
+            TopGamesException inDoubt = assertThrows(TopGamesException.class, () -> client.claimVote(vote("v2", "Player2")));
+            assertInstanceOf(ClaimInDoubtException.class, inDoubt.getCause());
+            journal.markClaimed("v2").get();
+            assertFalse(client.claimVote(vote("v2", "Player2")));
+        }
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void replay_DropsTornTailAndCompactionKeepsLiveVotes() throws Exception {
+        Path file = tempDir.resolve("claims.journal");
+        try (ClaimJournal journal = new ClaimJournal.Builder(file).groupCommitWindow(Duration.ZERO).build()) {
+            for (int i = 0; i < 100; i++) {
+                journal.markSeen("vote-" + i);
+                journal.markClaimed("vote-" + i).get();
+            }
+        }
+        long written = Files.size(file);
+        // A record cut short by a crash: type, timestamp and a length promising more bytes than follow.
+        Files.write(file, new byte[]{2, 0, 0, 0, 0, 0, 0, 0, 1, 0, 40, 'v'}, StandardOpenOption.APPEND);
+
+        try (ClaimJournal journal = new ClaimJournal.Builder(file).build()) {
+            assertEquals(written, Files.size(file));
+            assertEquals(100, journal.size());
+            assertTrue(journal.isClaimed("vote-99"));
+
+            journal.compact();
+            assertTrue(Files.size(file) < written * 2 / 3);
+            journal.markSeen("vote-100").get();
+        }
+
+        try (ClaimJournal journal = new ClaimJournal.Builder(file).build()) {
+            assertEquals(101, journal.size());
+            assertTrue(journal.isClaimed("vote-0"));
+            assertEquals(Set.of("vote-100"), journal.getPendingClaims());
+        }
+    }
+
+    // A record as the journal writes it, with a timestamp of the test's choosing.
+    private static byte[] record(int type, long timestamp, String voteId) {
+        byte[] id = voteId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 2 + id.length + 4);
+        buffer.put((byte) type).putLong(timestamp).putShort((short) id.length).put(id);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, buffer.position());
+        return buffer.putInt((int) crc.getValue()).array();
+    }
+
+    @Test
+    void compaction_KeepsPendingVotesUntilSettled() throws Exception {
+        Path file = tempDir.resolve("claims.journal");
+        assertThrows(IllegalArgumentException.class, () -> new ClaimJournal.Builder(file).retention(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new ClaimJournal.Builder(file).retention(Duration.ofHours(1)));
+        long yearAgo = System.currentTimeMillis() - Duration.ofDays(365).toMillis();
+        Files.write(file, record(1, yearAgo, "old-pending"));
+        Files.write(file, record(2, yearAgo, "old-claimed"), StandardOpenOption.APPEND);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+
+        try (ClaimJournal journal = new ClaimJournal.Builder(file).build();
+             TopGamesClient client = new TopGamesClient.Builder()
+                     .apiKey("test-api-key")
+                     .baseUrl(mockWebServer.url("/").toString())
+                     .claimJournal(journal)
+                     .build()) {
+            journal.compact();
+            assertEquals(1, journal.size());
+            assertEquals(Set.of("old-pending"), journal.getPendingClaims());
+
+            journal.markNotClaimed("old-pending").get();
+            assertEquals(Set.of(), journal.getPendingClaims());
+            assertTrue(client.claimVote(vote("old-pending", "Player1")));
+            journal.markNotClaimed("old-pending").get();
+            assertTrue(journal.isClaimed("old-pending"));
+        }
+        assertEquals(1, mockWebServer.getRequestCount());
+
+        try (ClaimJournal journal = new ClaimJournal.Builder(file).build()) {
+            assertTrue(journal.isClaimed("old-pending"));
+            assertEquals(Set.of(), journal.getPendingClaims());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package xyz.titanecho.topgamesapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void jitteryUncongestedTraffic_KeepsTheLimit() {
+        Random random = new Random(42);
+        // A remote API with 20-50ms latency, and a local one with 0.2-3ms.
+        for (long[] range : new long[][]{{20 * MS, 50 * MS}, {MS / 5, 3 * MS}}) {
+            ConcurrencyLimitInterceptor limiter = new ConcurrencyLimitInterceptor(20, 40, new MetricsListener() { });
+            long now = System.nanoTime();
+            for (int i = 0; i < 50; i++) {
+                long latency = range[0] + (long) (random.nextDouble() * (range[1] - range[0]));
+                now += latency;
+                limiter.release(limiter.tryAcquire(), latency, false, now);
+            }
+            assertEquals(20, limiter.limit());
+
+            List<Integer> burst = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                burst.add(limiter.tryAcquire());
+            }
+            assertFalse(burst.contains(-1));
+            now += range[1];
+            for (int inFlightAtStart : burst) {
+                long latency = range[0] + (long) (random.nextDouble() * (range[1] - range[0]));
+                limiter.release(inFlightAtStart, latency, false, now);
+            }
+            assertTrue(limiter.limit() >= 20);
+            assertEquals(0, limiter.inFlight());
+        }
+    }
+
+    @Test
+    void congestion_ShrinksTheLimitOncePerRoundTrip() {
+        ConcurrencyLimitInterceptor limiter = new ConcurrencyLimitInterceptor(10, 20, new MetricsListener() { });
+        long now = System.nanoTime();
+        for (int round = 0; round < 3; round++) {
+            now += 10 * MS;
+            fullRound(limiter, 10 * MS, now);
+        }
+        int before = limiter.limit();
+        assertTrue(before >= 10);
+
+        // Latency rises tenfold with the whole limit in flight: one cut for the whole round.
+        now += 100 * MS;
+        fullRound(limiter, 100 * MS, now);
+        int afterFirstCut = limiter.limit();
+        assertTrue(afterFirstCut < before);
+        assertTrue(afterFirstCut >= (int) (before * 0.9) - 1);
+
+        // Attempts finishing within the same round trip do not cut again.
+        fullRound(limiter, 100 * MS, now + 50 * MS);
+        assertEquals(afterFirstCut, limiter.limit());
+
+        now += 200 * MS;
+        fullRound(limiter, 100 * MS, now);
+        assertTrue(limiter.limit() < afterFirstCut);
+    }
+
+    private static void fullRound(ConcurrencyLimitInterceptor limiter, long latency, long now) {
+        List<Integer> round = new ArrayList<>();
+        int slot;
+        while ((slot = limiter.tryAcquire()) >= 0) {
+            round.add(slot);
+        }
+        for (int inFlightAtStart : round) {
+            limiter.release(inFlightAtStart, latency, false, now);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsHistoryTest {
+
+    private MockWebServer mockWebServer;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    // Days 1..count of January 2024, newest first, with votes equal to the day of month.
+    private static MockResponse stats(int count, int lastDayVotes) {
+        StringBuilder json = new StringBuilder("{\"code\":200, \"success\":true, \"stats\": [");
+        for (int day = count; day >= 1; day--) {
+            int votes = day == count ? lastDayVotes : day;
+            json.append(day < count ? "," : "").append(String.format("{\"date\":\"2024-01-%02d\", \"votes\":%d, \"clicks\":%d}", day, votes, votes * 2));
+        }
+        return new MockResponse().setBody(json.append("]}").toString());
+    }
+
+    @Test
+    void mergesNewDaysComputesAggregatesAndReloadsFromFile() throws Exception {
+        mockWebServer.enqueue(stats(14, 14));
+        mockWebServer.enqueue(stats(14, 14));
+        mockWebServer.enqueue(stats(15, 20));
+        Path file = tempDir.resolve("stats.bin");
+
+        try (TopGamesClient client = new TopGamesClient.Builder()
+                .apiKey("test-api-key")
+                .baseUrl(mockWebServer.url("/").toString())
+                .build()) {
+            try (StatsHistory history = new StatsHistory.Builder(client).persistTo(file).build()) {
+                assertEquals(14, history.refresh());
+                assertEquals(0, history.refresh());
+                assertEquals(1, history.refresh());
+
+                assertEquals(15, history.size());
+                assertEquals(LocalDate.of(2024, 1, 1), history.getFirstDay());
+                assertEquals(LocalDate.of(2024, 1, 15), history.getLastDay());
+                assertEquals(20, history.get(StatsHistory.Metric.VOTES, LocalDate.of(2024, 1, 15)));
+                assertEquals(6, history.sum(StatsHistory.Metric.VOTES, LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 3)));
+                assertEquals(12, history.sum(StatsHistory.Metric.CLICKS, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 3)));
+                assertEquals(1.5, history.movingAverage(StatsHistory.Metric.VOTES, LocalDate.of(2024, 1, 2), 2));
+                // Jan 8-14 sum to 77 and Jan 1-7 to 28.
+                assertEquals(77.0 / 28 - 1, history.weekOverWeek(StatsHistory.Metric.VOTES, LocalDate.of(2024, 1, 14)), 1e-9);
+            }
+
+            mockWebServer.enqueue(stats(15, 25));
+            try (StatsHistory reopened = new StatsHistory.Builder(client).persistTo(file).build()) {
+                assertEquals(15, reopened.size());
+                assertEquals(20, reopened.get(StatsHistory.Metric.VOTES, LocalDate.of(2024, 1, 15)));
+                assertEquals(1, reopened.refresh());
+                assertEquals(25, reopened.get(StatsHistory.Metric.VOTES, LocalDate.of(2024, 1, 15)));
+            }
+        }
+    }
+
+    @Test
+    void epochDay_MatchesLocalDate() {
+        for (LocalDate date = LocalDate.of(1999, 12, 25); date.isBefore(LocalDate.of(2101, 3, 2)); date = date.plusDays(17)) {
+            assertEquals(date.toEpochDay(), StatColumns.epochDay(date + " 00:00:00"));
+        }
+        assertThrows(IllegalStateException.class, () -> StatColumns.epochDay("01/02/2024"));
+    }
+}
@@ -0,0 +1,60 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopGamesClientFactoryTest {
+
+    private MockWebServer mockWebServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void newClient_SharesConnectionsAndSurvivesOtherClientsClosing() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody("{\"code\":200, \"success\":true, \"server\": {\"name\":\"S\"}}"));
+        }
+
+        try (TopGamesClientFactory factory = new TopGamesClientFactory.Builder()
+                .baseUrl(mockWebServer.url("/").toString())
+                .build()) {
+            TopGamesClient first = factory.newClient("key-1").build();
+            TopGamesClient second = factory.newClient("key-2").build();
+
+            first.getServerInfo();
+            second.getServerInfo();
+            first.close();
+            second.getServerInfo();
+            second.close();
+
+            RecordedRequest a = mockWebServer.takeRequest();
+            RecordedRequest b = mockWebServer.takeRequest();
+            RecordedRequest c = mockWebServer.takeRequest();
+            assertEquals("/servers/key-1", a.getPath());
+            assertEquals("Bearer key-2", b.getHeader("Authorization"));
+            // One connection carries all three requests.
+            assertEquals(0, a.getSequenceNumber());
+            assertEquals(1, b.getSequenceNumber());
+            assertEquals(2, c.getSequenceNumber());
+
+            assertThrows(IllegalStateException.class, () -> factory.newClient("key-3").maxRequests(10).build());
+        }
+    }
+}
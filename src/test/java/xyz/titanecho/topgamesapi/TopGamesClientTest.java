@@ -1,12 +1,20 @@
 package xyz.titanecho.topgamesapi;
 
 import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import xyz.titanecho.topgamesapi.micrometer.MicrometerMetricsListener;
+import xyz.titanecho.topgamesapi.model.Game;
 import xyz.titanecho.topgamesapi.model.PlayerRanking;
 import xyz.titanecho.topgamesapi.model.Server;
 import xyz.titanecho.topgamesapi.model.Stat;
@@ -14,8 +22,27 @@ import xyz.titanecho.topgamesapi.model.Vote;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -92,6 +119,26 @@ class TopGamesClientTest {
         }
     }
 
+    @Test
+    void getServerInfo_DecodesMultiByteCharactersInSmallBodies() throws Exception {
+        // Runs of supplementary characters at both parities, so one of them straddles the reader's 1024-char buffer.
+        List<String> names = new ArrayList<>();
+        for (int padding = 0; padding < 2; padding++) {
+            String name = "M\u00ff \u20ac " + "x".repeat(450 + padding) + "\uD83C\uDFAE".repeat(300);
+            String jsonResponse = "{\"code\":200, \"success\":true, \"server\": {\"id\":\"123\", \"name\":\"" + name + "\"}}";
+            assertTrue(jsonResponse.getBytes(StandardCharsets.UTF_8).length <= JsonCodec.SMALL_BODY_BYTES);
+            mockWebServer.enqueue(new MockResponse().setBody(jsonResponse)
+                    .addHeader("Content-Type", "application/json; charset=utf-8"));
+            names.add(name);
+        }
+
+        try (TopGamesClient client = createDefaultBuilder().build()) {
+            for (String name : names) {
+                assertEquals(name, client.getServerInfo().getName());
+            }
+        }
+    }
+
     @Test
     void getServerStats_Success() throws TopGamesException {
         String jsonResponse = "{\"code\":200, \"success\":true, \"stats\": [{\"date\":\"2023-01-01\", \"votes\":10}, {\"date\":\"2023-01-02\", \"votes\":15}]}";
@@ -117,4 +164,710 @@ class TopGamesClientTest {
             assertEquals("ProGamer", ranking.get(0).getUsername());
         }
     }
+
+    @Test
+    void getFullServerInfo_SkipsUnknownFieldsAndAcceptsQuotedNumbers() throws TopGamesException {
+        String jsonResponse = "{\"code\":\"200\", \"success\":true, \"meta\":{\"page\":[1,2,{\"x\":null}]}, \"server\": "
+                + "{\"id\":42, \"name\":\"My Server\", \"votes\":\"100\", \"port\":null, \"tags\":[\"pvp\"], "
+                + "\"stats\":[{\"date\":\"2023-01-01\", \"votes\":10, \"extra\":{}}]}}";
+        mockWebServer.enqueue(new MockResponse().setBody(jsonResponse).addHeader("Content-Type", "application/json"));
+
+        try (TopGamesClient client = createDefaultBuilder().build()) {
+            Server server = client.getFullServerInfo();
+            assertEquals("42", server.getId());
+            assertEquals(100, server.getVotes());
+            assertEquals(0, server.getPort());
+            assertEquals(1, server.getStats().size());
+            assertEquals(10, server.getStats().get(0).getVotes());
+        }
+    }
+
+    @Test
+    void getPlayersLeaderboard_SortsLooksUpAndDiffsSnapshots() throws TopGamesException {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"code\":200, \"success\":true, \"players\": ["
+                + "{\"username\":\"Carol\", \"votes\":5}, {\"username\":\"Alice\", \"votes\":30}, {\"username\":\"Bob\", \"votes\":12}]}"));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"code\":200, \"success\":true, \"players\": ["
+                + "{\"username\":\"Bob\", \"votes\":40}, {\"username\":\"Alice\", \"votes\":30}, {\"username\":\"Dave\", \"votes\":1}]}"));
+
+        try (TopGamesClient client = createDefaultBuilder().build()) {
+            Leaderboard previous = client.getPlayersLeaderboard("current");
+            assertEquals(3, previous.size());
+            assertEquals("Alice", previous.getUsername(1));
+            assertEquals(3, previous.rankOf("Carol"));
+            assertEquals(0, previous.rankOf("Nobody"));
+            assertEquals(12, previous.votesOf("Bob"));
+            assertEquals(2, previous.top(2).size());
+            assertEquals(0, previous.top(2).rankOf("Carol"));
+
+            Leaderboard current = client.getPlayersLeaderboard("current");
+            assertSame(previous.getUsername(1), current.getUsername(2));
+            List<Leaderboard.Change> changes = current.diff(previous);
+            assertEquals(4, changes.size());
+            assertEquals("Bob", changes.get(0).getUsername());
+            assertEquals(2, changes.get(0).getPreviousRank());
+            assertEquals(40, changes.get(0).getVotes());
+            assertEquals("Alice", changes.get(1).getUsername());
+            assertTrue(changes.get(2).isNew());
+            assertTrue(changes.get(3).isDropped());
+            assertEquals("Carol", changes.get(3).getUsername());
+        }
+    }
+
+    @Test
+    void refreshServerInfoAhead_ServesStaleWhileRefreshingAndFailing() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"code\":200, \"success\":true, \"server\": {\"name\":\"First\"}}"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"code\":200, \"success\":true, \"server\": {\"name\":\"Second\"}}"));
+
+        try (TopGamesClient client = createDefaultBuilder()
+                .refreshServerInfoAhead(Duration.ofMillis(100), Duration.ofSeconds(10))
+                .build()) {
+            ServerSnapshot first = client.getServerInfoSnapshot();
+            assertEquals("First", first.getServer().getName());
+            assertFalse(first.isStale());
+            assertSame(first.getServer(), client.getServerInfo());
+            assertEquals(1, mockWebServer.getRequestCount());
+
+            Thread.sleep(150);
+            // Past the soft TTL: the stale value is served while the refresh fails with a 503.
+            ServerSnapshot stale = client.getServerInfoSnapshot();
+            assertTrue(stale.isStale());
+            assertEquals("First", stale.getServer().getName());
+            mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+            mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+            assertEquals("First", client.getServerInfo().getName());
+
+            // The next attempt waits another soft TTL after the failure, then succeeds.
+            Thread.sleep(150);
+            client.getServerInfo();
+            mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (client.getServerInfoSnapshot().isStale() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("Second", client.getServerInfo().getName());
+            assertEquals(3, mockWebServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void circuitBreaker_OpensOnErrorsAndClosesAfterProbes() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        }
+        try (TopGamesClient client = createDefaultBuilder()
+                .circuitBreaker(0.5, Duration.ofSeconds(5), Duration.ofSeconds(1))
+                .build()) {
+            for (int i = 0; i < 10; i++) {
+                assertThrows(TopGamesException.class, () -> client.getGame("g1"));
+            }
+            assertEquals(CircuitState.OPEN, client.getCircuitState());
+
+            TopGamesException rejected = assertThrows(TopGamesException.class, () -> client.getGame("g1"));
+            assertInstanceOf(CallRejectedException.class, rejected.getCause());
+            assertEquals(10, mockWebServer.getRequestCount());
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (client.getCircuitState() == CircuitState.OPEN && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(CircuitState.HALF_OPEN, client.getCircuitState());
+            for (int i = 0; i < 3; i++) {
+                mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"g1\"}"));
+                assertEquals("g1", client.getGame("g1").getId());
+            }
+            assertEquals(CircuitState.CLOSED, client.getCircuitState());
+        }
+    }
+
+    @Test
+    void circuitBreakerAndConcurrencyLimit_IgnoreCancelledAttempts() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        }
+        mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"slow\"}").setHeadersDelay(2, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"g1\"}"));
+        }
+        // Outermost, so an attempt is reported only once every other interceptor has seen its outcome.
+        BlockingQueue<String> finished = new LinkedBlockingQueue<>();
+        try (TopGamesClient client = createDefaultBuilder()
+                .addInterceptor(chain -> {
+                    try {
+                        return chain.proceed(chain.request());
+                    } finally {
+                        finished.add(chain.request().url().encodedPath());
+                    }
+                })
+                .circuitBreaker(0.5, Duration.ofSeconds(5), Duration.ofMillis(500))
+                .build()) {
+            for (int i = 0; i < 10; i++) {
+                assertThrows(TopGamesException.class, () -> client.getGame("g1"));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (client.getCircuitState() == CircuitState.OPEN && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            for (int i = 0; i < 10; i++) {
+                mockWebServer.takeRequest();
+            }
+            finished.clear();
+
+            CompletableFuture<Game> probe = client.getGameAsync("slow");
+            assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+            probe.cancel(true);
+            assertNotNull(finished.poll(5, TimeUnit.SECONDS));
+            assertEquals(CircuitState.HALF_OPEN, client.getCircuitState());
+            for (int i = 0; i < 3; i++) {
+                assertEquals("g1", client.getGame("g1").getId());
+            }
+            assertEquals(CircuitState.CLOSED, client.getCircuitState());
+            for (int i = 0; i < 3; i++) {
+                mockWebServer.takeRequest();
+            }
+        }
+
+        mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"slow\"}").setHeadersDelay(2, TimeUnit.SECONDS));
+        finished.clear();
+        try (TopGamesClient client = createDefaultBuilder()
+                .addInterceptor(chain -> {
+                    try {
+                        return chain.proceed(chain.request());
+                    } finally {
+                        finished.add(chain.request().url().encodedPath());
+                    }
+                })
+                .adaptiveConcurrencyLimit(2, 4)
+                .build()) {
+            CompletableFuture<Game> slow = client.getGameAsync("slow");
+            assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+            slow.cancel(true);
+            assertNotNull(finished.poll(5, TimeUnit.SECONDS));
+            assertEquals(2, client.getConcurrencyLimit());
+        }
+    }
+
+    @Test
+    void adaptiveConcurrencyLimit_ShrinksWhenLatencyRises() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"g1\"}"));
+        }
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"g1\"}").setHeadersDelay(500, TimeUnit.MILLISECONDS));
+        }
+        try (TopGamesClient client = createDefaultBuilder()
+                .adaptiveConcurrencyLimit(4, 8)
+                .build()) {
+            assertEquals(4, client.getConcurrencyLimit());
+            for (int i = 0; i < 8; i++) {
+                client.getGame("g1");
+            }
+            assertEquals(4, client.getConcurrencyLimit());
+
+            List<CompletableFuture<Game>> calls = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                calls.add(client.getGameAsync("g1"));
+            }
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+            // The whole limit was in flight at many times the baseline latency: one cut of 10%.
+            assertEquals(3, client.getConcurrencyLimit());
+        }
+    }
+
+    @Test
+    void hedgeRequests_SlowAttemptIsAnsweredByHedge() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"g1\"}"));
+        }
+        mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"slow\"}").setHeadersDelay(2, TimeUnit.SECONDS));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"hedge\"}"));
+
+        try (TopGamesClient client = createDefaultBuilder()
+                .hedgeRequests(0.95, 0.05)
+                .build()) {
+            for (int i = 0; i < 50; i++) {
+                client.getGame("g1");
+            }
+            assertEquals("hedge", client.getGame("g1").getId());
+            assertEquals(52, mockWebServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void hedgeRequests_CancelledPrimaryIsNotRetried() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"g1\"}"));
+        }
+        mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"slow\"}").setHeadersDelay(2, TimeUnit.SECONDS));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"hedge\"}"));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"retry\"}"));
+        ClientMetrics metrics = new ClientMetrics();
+
+        try (TopGamesClient client = createDefaultBuilder()
+                .hedgeRequests(0.95, 0.05)
+                .enableRetries(3, Duration.ofSeconds(1), Duration.ofSeconds(4))
+                .metricsListener(metrics)
+                .build()) {
+            for (int i = 0; i < 50; i++) {
+                client.getGame("g1");
+            }
+            assertEquals("hedge", client.getGame("g1").getId());
+            Thread.sleep(200);
+            assertEquals(0, metrics.getEndpointStats(Endpoint.GAME).getRetryCount());
+            assertEquals(52, mockWebServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void priorityScheduling_AdmitsInteractiveAheadOfQueuedBackgroundWork() throws Exception {
+        List<String> paths = Collections.synchronizedList(new ArrayList<>());
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                paths.add(request.getRequestUrl().encodedPath());
+                MockResponse response = new MockResponse().setBody("{\"id\":\"g\", \"code\":200, \"success\":true}");
+                return paths.size() == 1 ? response.setHeadersDelay(300, TimeUnit.MILLISECONDS) : response;
+            }
+        });
+        ClientMetrics metrics = new ClientMetrics();
+
+        try (TopGamesClient client = createDefaultBuilder()
+                .priorityScheduling(1)
+                .requestPriority(Endpoint.GAME, Priority.BACKGROUND)
+                .metricsListener(metrics)
+                .build()) {
+            List<CompletableFuture<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                calls.add(client.getGameAsync("g" + i));
+            }
+            calls.add(client.checkVoteByUsernameAsync("Player1"));
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of("/games/g0", "/votes/check", "/games/g1", "/games/g2", "/games/g3"), paths);
+            assertTrue(metrics.getQueueWaitPercentile(Priority.INTERACTIVE, 1.0).toMillis() >= 100);
+            assertTrue(metrics.getQueueWaitPercentile(Priority.BACKGROUND, 1.0).toMillis() >= 300);
+        }
+    }
+
+    @Test
+    void preferHttp2_WarmUpOpensOneMultiplexedConnection() throws Exception {
+        try (MockWebServer http2Server = new MockWebServer()) {
+            http2Server.setProtocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+            http2Server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse().setBody("{\"id\":\"g\"}").setHeadersDelay(50, TimeUnit.MILLISECONDS);
+                }
+            });
+            http2Server.start();
+            ClientMetrics metrics = new ClientMetrics();
+
+            try (TopGamesClient client = new TopGamesClient.Builder()
+                    .apiKey("test-api-key")
+                    .baseUrl(http2Server.url("/").toString())
+                    .preferHttp2()
+                    .connectionPool(1, Duration.ofMinutes(1))
+                    .metricsListener(metrics)
+                    .build()) {
+                client.warmUp(1).get(2, TimeUnit.SECONDS);
+                assertEquals(1, metrics.getIdleConnectionCount());
+
+                List<CompletableFuture<Game>> calls = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    calls.add(client.getGameAsync("g" + i));
+                }
+                CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).get(2, TimeUnit.SECONDS);
+                assertEquals(1, metrics.getConnectionCount());
+            }
+
+            RecordedRequest warmUp = http2Server.takeRequest();
+            assertEquals("HEAD", warmUp.getMethod());
+            assertNull(warmUp.getHeader("Authorization"));
+            assertEquals(9, http2Server.getRequestCount());
+        }
+    }
+
+    @Test
+    void getTopGames_MalformedJson_ThrowsParseError() {
+        mockWebServer.enqueue(new MockResponse().setBody("[{\"id\":\"g1\",").addHeader("Content-Type", "application/json"));
+
+        try (TopGamesClient client = createDefaultBuilder().build()) {
+            TopGamesException e = assertThrows(TopGamesException.class, () -> client.getTopGames(10, 0));
+            assertEquals("Failed to parse JSON response", e.getMessage());
+        }
+    }
+
+    @Test
+    void streamTopGames_FetchesPagesUntilShortPage() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setBody("[{\"id\":\"g1\"},{\"id\":\"g2\"}]"));
+        mockWebServer.enqueue(new MockResponse().setBody("[{\"id\":\"g3\"},{\"id\":\"g4\"}]"));
+        mockWebServer.enqueue(new MockResponse().setBody("[{\"id\":\"g5\"}]"));
+
+        try (TopGamesClient client = createDefaultBuilder().build();
+             Stream<Game> games = client.streamTopGames(2)) {
+            List<String> ids = games.map(Game::getId).toList();
+            assertEquals(List.of("g1", "g2", "g3", "g4", "g5"), ids);
+        }
+
+        assertEquals(3, mockWebServer.getRequestCount());
+        assertTrue(mockWebServer.takeRequest().getPath().contains("offset=0"));
+        assertTrue(mockWebServer.takeRequest().getPath().contains("offset=2"));
+        assertTrue(mockWebServer.takeRequest().getPath().contains("offset=4"));
+    }
+
+    @Test
+    void streamTopGames_CloseCancelsPrefetch() {
+        List<CompletableFuture<List<String>>> fetches = new ArrayList<>();
+        PageIterator<String> pages = new PageIterator<>((limit, offset) -> {
+            CompletableFuture<List<String>> fetch = offset == 0
+                    ? CompletableFuture.completedFuture(List.of("a"))
+                    : new CompletableFuture<>();
+            fetches.add(fetch);
+            return fetch;
+        }, 1);
+
+        assertTrue(pages.hasNext());
+        assertEquals("a", pages.next());
+        pages.close();
+
+        assertEquals(2, fetches.size());
+        assertTrue(fetches.get(1).isCancelled());
+        assertFalse(pages.hasNext());
+    }
+
+    /**
+     * Records signals into a queue; elements as their IDs, completion as "done" and errors as "error".
+     */
+    private static <T> Flow.Subscription subscribe(Flow.Publisher<T> publisher, Function<T, String> id,
+                                                   BlockingQueue<String> signals) throws InterruptedException {
+        BlockingQueue<Flow.Subscription> subscription = new LinkedBlockingQueue<>();
+        publisher.subscribe(new Flow.Subscriber<T>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.add(s);
+            }
+
+            @Override
+            public void onNext(T item) {
+                signals.add(id.apply(item));
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add("error");
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("done");
+            }
+        });
+        return subscription.take();
+    }
+
+    @Test
+    void publisherCancel_AbortsTheBlockedRequest() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        BlockingQueue<String> signals = new LinkedBlockingQueue<>();
+        BlockingQueue<Boolean> finished = new LinkedBlockingQueue<>();
+
+        try (TopGamesClient client = createDefaultBuilder()
+                .addInterceptor(chain -> {
+                    try {
+                        return chain.proceed(chain.request());
+                    } finally {
+                        finished.add(chain.call().isCanceled());
+                    }
+                })
+                .build()) {
+            Flow.Subscription subscription = subscribe(client.publishUnclaimedVotes(), Vote::getId, signals);
+            subscription.request(1);
+            assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+
+            subscription.cancel();
+            assertEquals(Boolean.TRUE, finished.poll(5, TimeUnit.SECONDS));
+            assertNull(signals.poll(100, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void publishTopGames_RequestsPagesOnDemand() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("[{\"id\":\"g1\"},{\"id\":\"g2\"}]"));
+        mockWebServer.enqueue(new MockResponse().setBody("[{\"id\":\"g3\"},{\"id\":\"g4\"}]"));
+        mockWebServer.enqueue(new MockResponse().setBody("[{\"id\":\"g5\"}]"));
+        BlockingQueue<String> signals = new LinkedBlockingQueue<>();
+
+        try (TopGamesClient client = createDefaultBuilder().build()) {
+            Flow.Subscription subscription = subscribe(client.publishTopGames(2), Game::getId, signals);
+            assertNull(signals.poll(100, TimeUnit.MILLISECONDS));
+            assertEquals(0, mockWebServer.getRequestCount());
+
+            subscription.request(2);
+            assertEquals("g1", signals.poll(5, TimeUnit.SECONDS));
+            assertEquals("g2", signals.poll(5, TimeUnit.SECONDS));
+            assertNull(signals.poll(100, TimeUnit.MILLISECONDS));
+            assertEquals(1, mockWebServer.getRequestCount());
+
+            subscription.request(Long.MAX_VALUE);
+            for (String expected : List.of("g3", "g4", "g5", "done")) {
+                assertEquals(expected, signals.poll(5, TimeUnit.SECONDS));
+            }
+            assertEquals(3, mockWebServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void publishUnclaimedVotes_StreamsEnvelopeArrayAndStopsOnCancel() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody(
+                "{\"code\":200, \"extra\":{\"votes\":1}, \"votes\": [{\"id\":\"v1\"},{\"id\":\"v2\"},{\"id\":\"v3\"}]}"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        BlockingQueue<String> signals = new LinkedBlockingQueue<>();
+
+        try (TopGamesClient client = createDefaultBuilder().build()) {
+            Flow.Subscription subscription = subscribe(client.publishUnclaimedVotes(), Vote::getId, signals);
+            subscription.request(1);
+            assertEquals("v1", signals.poll(5, TimeUnit.SECONDS));
+            subscription.cancel();
+            subscription.request(5);
+            assertNull(signals.poll(100, TimeUnit.MILLISECONDS));
+
+            subscribe(client.publishUnclaimedVotes(), Vote::getId, signals).request(1);
+            assertEquals("error", signals.poll(5, TimeUnit.SECONDS));
+
+            Flow.Publisher<Vote> afterClose = client.publishUnclaimedVotes();
+            client.close();
+            Flow.Subscription closed = subscribe(afterClose, Vote::getId, signals);
+            closed.request(1);
+            closed.request(1);
+            assertEquals("error", signals.poll(5, TimeUnit.SECONDS));
+            assertNull(signals.poll(100, TimeUnit.MILLISECONDS));
+            assertEquals(2, mockWebServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void responseCache_CoalescesConcurrentCallsAndServesHits() throws Exception {
+        String jsonResponse = "{\"code\":200, \"success\":true, \"server\": {\"id\":\"123\", \"name\":\"My Server\"}}";
+        mockWebServer.enqueue(new MockResponse().setBody(jsonResponse).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        try (TopGamesClient client = createDefaultBuilder().enableResponseCache(16, Duration.ofMinutes(1)).build()) {
+            ExecutorService executor = Executors.newFixedThreadPool(20);
+            try {
+                List<Callable<Server>> calls = Collections.nCopies(20, client::getServerInfo);
+                for (Future<Server> result : executor.invokeAll(calls)) {
+                    assertEquals("My Server", result.get().getName());
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals("My Server", client.getServerInfo().getName());
+
+            CacheStats stats = client.getResponseCacheStats();
+            assertEquals(1, stats.getMissCount());
+            assertEquals(20, stats.getHitCount() + stats.getCoalescedCount());
+        }
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void rateLimit_PacesAsyncRequestsWithoutBlockingCaller() {
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"g" + i + "\"}"));
+        }
+
+        try (TopGamesClient client = createDefaultBuilder().rateLimit(1, Duration.ofMillis(100), 1).build()) {
+            long start = System.nanoTime();
+            List<CompletableFuture<Game>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(client.getGameAsync("g" + i));
+            }
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100, "Async calls must not block the caller");
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 290);
+        }
+        assertEquals(4, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void retries_AsyncRetriesServerErrorsAndTooManyRequests() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429).addHeader("Retry-After", "0"));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"g1\"}"));
+
+        try (TopGamesClient client = createDefaultBuilder()
+                .enableRetries(2, Duration.ofMillis(10), Duration.ofMillis(50))
+                .build()) {
+            assertEquals("g1", client.getGameAsync("g1").join().getId());
+        }
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void retries_SyncReturnsLastErrorWhenExhausted() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("first"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("second"));
+
+        try (TopGamesClient client = createDefaultBuilder()
+                .enableRetries(1, Duration.ofMillis(10), Duration.ofMillis(50))
+                .build()) {
+            TopGamesException e = assertThrows(TopGamesException.class, () -> client.getGame("g1"));
+            assertEquals("API Error: 500 - second", e.getMessage());
+        }
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void cancel_AsyncCancelsCallInFlightAndFreesItsSlot() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"code\":200, \"votes\": []}").setHeadersDelay(2, TimeUnit.SECONDS));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"g2\"}"));
+
+        try (TopGamesClient client = createDefaultBuilder().priorityScheduling(1).build()) {
+            // A mapped result: its cancellation has to reach the call it derives from.
+            CompletableFuture<List<Vote>> slow = client.getUnclaimedVotesAsync();
+            assertNotNull(mockWebServer.takeRequest(2, TimeUnit.SECONDS));
+            assertTrue(slow.cancel(true));
+
+            assertEquals("g2", client.getGameAsync("g2").get(1, TimeUnit.SECONDS).getId());
+        }
+    }
+
+    @Test
+    void timeout_CoversRetriesAndWholeCall() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503).addHeader("Retry-After", "1"));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"g2\"}").setHeadersDelay(2, TimeUnit.SECONDS));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"g3\"}").setHeadersDelay(2, TimeUnit.SECONDS));
+
+        try (TopGamesClient client = createDefaultBuilder()
+                .enableRetries(3, Duration.ofMillis(10), Duration.ofSeconds(5))
+                .build()) {
+            TopGamesException rejected = assertThrows(TopGamesException.class,
+                    () -> client.getGame("g1", Duration.ofMillis(300)));
+            assertTrue(rejected.getMessage().startsWith("API Error: 503"));
+            assertEquals(1, mockWebServer.getRequestCount());
+
+            long start = System.nanoTime();
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> client.getGameAsync("g2", Duration.ofMillis(200)).get(1, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, e.getCause().getCause());
+            assertThrows(TopGamesException.class, () -> client.getGame("g3", Duration.ofMillis(200)));
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1500));
+        }
+    }
+
+    @Test
+    void useVirtualThreads_RunsAsyncCallsOnVirtualThreads() {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"code\":200, \"success\":true}"));
+        AtomicBoolean ranOnVirtualThread = new AtomicBoolean();
+
+        try (TopGamesClient client = createDefaultBuilder()
+                .useVirtualThreads()
+                .maxRequests(1000)
+                .maxRequestsPerHost(1000)
+                .addInterceptor(chain -> {
+                    ranOnVirtualThread.set(Thread.currentThread().isVirtual());
+                    return chain.proceed(chain.request());
+                })
+                .build()) {
+            assertTrue(client.checkVoteByUsernameAsync("Player1").join());
+        }
+        assertTrue(ranOnVirtualThread.get());
+    }
+
+    @Test
+    void claimVotesByUsername_ReportsPartialFailures() throws TopGamesException {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                boolean fail = "Player2".equals(request.getRequestUrl().queryParameter("playername"));
+                return new MockResponse().setResponseCode(fail ? 404 : 200);
+            }
+        });
+
+        try (TopGamesClient client = createDefaultBuilder().claimConcurrency(2).build()) {
+            Map<String, ClaimResult> results = client.claimVotesByUsername(List.of("Player1", "Player2", "Player3", "Player1"));
+
+            assertEquals(List.of("Player1", "Player2", "Player3"), new ArrayList<>(results.keySet()));
+            assertTrue(results.get("Player1").isSuccess());
+            assertFalse(results.get("Player2").isSuccess());
+            assertTrue(results.get("Player2").getError().getMessage().contains("404"));
+            assertTrue(results.get("Player3").isSuccess());
+        }
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void batchVoteChecks_DeduplicatesAndCachesResults() throws TopGamesException {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                boolean voted = "Voter".equals(request.getRequestUrl().queryParameter("playername"));
+                return new MockResponse().setBody("{\"code\":200, \"success\":" + voted + "}");
+            }
+        });
+
+        try (TopGamesClient client = createDefaultBuilder()
+                .batchVoteChecks(Duration.ofMillis(20), 64)
+                .voteCheckResultTtl(Duration.ofMinutes(1), Duration.ofMinutes(1))
+                .build()) {
+            List<CompletableFuture<Boolean>> checks = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                checks.add(client.checkVoteByUsernameAsync("Voter"));
+                checks.add(client.checkVoteByUsernameAsync("Lurker"));
+            }
+            for (int i = 0; i < checks.size(); i++) {
+                assertEquals(i % 2 == 0, checks.get(i).join());
+            }
+            assertTrue(client.checkVoteByUsernameAsync("Voter").join());
+        }
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void metricsListener_RecordsLatencyRetriesAndResponseSize() throws TopGamesException {
+        String body = "{\"code\":200, \"success\":true, \"votes\": [{\"id\":\"v1\",\"username\":\"Player1\"}]}";
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setBody(body));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+        ClientMetrics metrics = new ClientMetrics();
+
+        try (TopGamesClient client = createDefaultBuilder()
+                .enableRetries(1, Duration.ofMillis(10), Duration.ofMillis(50))
+                .metricsListener(metrics)
+                .build()) {
+            assertEquals(1, client.getUnclaimedVotes().size());
+            assertThrows(CompletionException.class, () -> client.getGameAsync("g1").join());
+        }
+
+        EndpointStats votes = metrics.getEndpointStats(Endpoint.UNCLAIMED_VOTES);
+        assertEquals(1, votes.getCallCount());
+        assertEquals(0, votes.getFailureCount());
+        assertEquals(1, votes.getRetryCount());
+        assertEquals(body.length(), votes.getResponseBytes());
+        assertTrue(votes.getLatencyPercentile(0.99).compareTo(votes.getDecodePercentile(0.99)) >= 0);
+        assertTrue(votes.getLatencyPercentile(0.5).toNanos() > 0);
+
+        EndpointStats game = metrics.getEndpointStats(Endpoint.GAME);
+        assertEquals(1, game.getCallCount());
+        assertEquals(1, game.getFailureCount());
+    }
+
+    @Test
+    void micrometerMetricsListener_RegistersMetersPerEndpoint() {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"id\":\"g1\"}"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        try (TopGamesClient client = createDefaultBuilder()
+                .metricsListener(new MicrometerMetricsListener(registry))
+                .build()) {
+            assertEquals("g1", client.getGameAsync("g1").join().getId());
+        }
+
+        Timer requests = registry.get("topgames.client.requests")
+                .tags("endpoint", "game", "outcome", "success")
+                .timer();
+        assertEquals(1, requests.count());
+        assertEquals(11, registry.get("topgames.client.response.size").tags("endpoint", "game").summary().totalAmount());
+        assertNotNull(registry.find("topgames.client.connections").tags("state", "idle").gauge());
+    }
 }
@@ -0,0 +1,104 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import xyz.titanecho.topgamesapi.model.Vote;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VotePollerTest {
+
+    private MockWebServer mockWebServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    private static MockResponse votes(String... ids) {
+        StringBuilder json = new StringBuilder("{\"code\":200, \"success\":true, \"votes\": [");
+        for (int i = 0; i < ids.length; i++) {
+            json.append(i > 0 ? "," : "").append("{\"id\":\"").append(ids[i]).append("\",\"username\":\"Player\"}");
+        }
+        return new MockResponse().setBody(json.append("]}").toString());
+    }
+
+    @Test
+    void emitsEachVoteOnceAndBacksOffWhenIdle() throws Exception {
+        mockWebServer.enqueue(votes("v1", "v2"));
+        mockWebServer.enqueue(votes("v1", "v2", "v3"));
+        mockWebServer.enqueue(votes("v1", "v2", "v3"));
+        mockWebServer.enqueue(votes("v1", "v2", "v3"));
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        try (TopGamesClient client = new TopGamesClient.Builder()
+                .apiKey("test-api-key")
+                .baseUrl(mockWebServer.url("/").toString())
+                .build();
+             VotePoller poller = new VotePoller.Builder(client)
+                     .interval(Duration.ofMillis(10), Duration.ofMillis(40))
+                     .addListener(vote -> received.add(vote.getId()))
+                     .build()
+                     .start()) {
+            for (int i = 0; i < 4; i++) {
+                assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+            }
+            Thread.sleep(50);
+
+            assertEquals(List.of("v1", "v2", "v3"), received);
+            assertTrue(poller.getCurrentInterval().toMillis() > 10);
+        }
+    }
+
+    @Test
+    void keepsPollingWhenListenerExecutorRejects() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody(
+                "{\"code\":200, \"success\":true, \"votes\": [null, {\"id\":\"v1\",\"username\":\"Player\"}]}"));
+        mockWebServer.enqueue(votes("v1"));
+        mockWebServer.enqueue(votes("v1"));
+        List<String> received = new CopyOnWriteArrayList<>();
+        AtomicBoolean rejectNext = new AtomicBoolean(true);
+        Executor rejectOnce = task -> {
+            if (rejectNext.getAndSet(false)) {
+                throw new RejectedExecutionException("Queue full");
+            }
+            task.run();
+        };
+
+        try (TopGamesClient client = new TopGamesClient.Builder()
+                .apiKey("test-api-key")
+                .baseUrl(mockWebServer.url("/").toString())
+                .build();
+             VotePoller poller = new VotePoller.Builder(client)
+                     .interval(Duration.ofMillis(10), Duration.ofMillis(40))
+                     .listenerExecutor(rejectOnce)
+                     .addListener(vote -> received.add(vote.getId()))
+                     .build()
+                     .start()) {
+            for (int i = 0; i < 3; i++) {
+                assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+            }
+            Thread.sleep(50);
+
+            assertEquals(List.of("v1"), received);
+        }
+    }
+}
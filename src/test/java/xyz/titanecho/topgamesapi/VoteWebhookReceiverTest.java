@@ -0,0 +1,90 @@
+package xyz.titanecho.topgamesapi;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoteWebhookReceiverTest {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private MockWebServer mockWebServer;
+    private final OkHttpClient http = new OkHttpClient();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    private int post(VoteWebhookReceiver receiver, String query, String token, String body) throws IOException {
+        InetSocketAddress address = receiver.getAddress();
+        Request.Builder request = new Request.Builder()
+                .url("http://127.0.0.1:" + address.getPort() + "/topgames/vote" + query)
+                .post(RequestBody.create(body, JSON));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try (Response response = http.newCall(request.build()).execute()) {
+            return response.code();
+        }
+    }
+
+    @Test
+    void receivesCallbacksOnceAndReconcilesMissedVotes() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody(
+                "{\"code\":200, \"success\":true, \"votes\": [{\"id\":\"v1\"},{\"id\":\"v3\",\"username\":\"Missed\"}]}")
+                .setHeadersDelay(500, TimeUnit.MILLISECONDS));
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        try (TopGamesClient client = new TopGamesClient.Builder()
+                .apiKey("test-api-key")
+                .baseUrl(mockWebServer.url("/").toString())
+                .build();
+             VoteWebhookReceiver receiver = new VoteWebhookReceiver.Builder(client)
+                     .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+                     .reconcileEvery(Duration.ofMinutes(5))
+                     .addListener(vote -> received.add(vote.getId()))
+                     .build()
+                     .start()) {
+            // Reconciliation polls right away, but its response is delayed until after the callbacks.
+            assertEquals(204, post(receiver, "", "test-api-key", "{\"id\":\"v1\",\"username\":\"Player1\"}"));
+            assertEquals(204, post(receiver, "?server_token=test-api-key", null,
+                    "[{\"id\":\"v1\"},{\"id\":\"v2\",\"username\":\"Player2\",\"unknown\":[1]}]"));
+            assertEquals(401, post(receiver, "", "wrong-key", "{\"id\":\"v4\"}"));
+            assertEquals(400, post(receiver, "", "test-api-key", "{\"id\":"));
+            assertEquals(400, post(receiver, "", "test-api-key", "null"));
+            assertEquals(400, post(receiver, "", "test-api-key", "[null]"));
+            assertEquals(400, post(receiver, "", "test-api-key", "[{\"id\":\"v5\"},null]"));
+
+            assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (received.size() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(List.of("v1", "v2", "v3"), received);
+        }
+    }
+}